@@ -0,0 +1,54 @@
+package com.aiadviser.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * API calls the load test can issue. Request bodies match what the UI sends.
+ */
+public enum Endpoint {
+    ADVISE("advise"),
+    CHAT("chat"),
+    PRODUCTS("products");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+
+    public HttpRequest buildRequest(String baseUrl, String sku, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        return switch (this) {
+            case ADVISE -> builder
+                .uri(URI.create(baseUrl + "/api/advise/" + sku))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            case CHAT -> builder
+                .uri(URI.create(baseUrl + "/api/chat"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                    {"sku":"%s","messages":[{"role":"user","content":"What should I do about this product?"}]}
+                    """.formatted(sku)))
+                .build();
+            case PRODUCTS -> builder
+                .uri(URI.create(baseUrl + "/api/products?limit=24"))
+                .GET()
+                .build();
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.aiadviser.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, measured from the intended send time) and outcome counters for one endpoint
+ */
+public class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+
+    public void recordResponse(int status, long latencyNanos) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        statusCounts.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+        if (status >= 200 && status < 400) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    public void recordTimeout(long latencyNanos) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        timeouts.increment();
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * The generator refused to send because max-in-flight was reached; the schedule is kept regardless
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public Histogram latency() {
+        return latency;
+    }
+
+    public long successes() {
+        return successes.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+}
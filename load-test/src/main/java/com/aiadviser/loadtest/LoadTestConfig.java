@@ -0,0 +1,131 @@
+package com.aiadviser.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value
+ * <pre>
+ * --base-url=http://localhost:5000
+ * --script=browse                 named mix: browse, advise-heavy, balanced
+ * --mix=advise:1,chat:1,products:8 explicit weights, overrides --script
+ * --stages=20@60s,50@60s          arrival rate (requests/s) per stage; or --rate and --duration
+ * --warmup=10s                    run at the first stage's rate before measuring
+ * --skus=SKU-001,SKU-002          SKUs for advise and chat
+ * --timeout=30s --max-in-flight=5000
+ * --label=baseline --report-dir=load-test/reports --baseline=load-test/reports/previous.json
+ * </pre>
+ */
+public record LoadTestConfig(
+    String baseUrl,
+    String script,
+    Map<Endpoint, Integer> mix,
+    List<Stage> stages,
+    Duration warmup,
+    List<String> skus,
+    Duration timeout,
+    int maxInFlight,
+    String label,
+    Path reportDir,
+    Path baseline
+) {
+
+    public record Stage(double ratePerSecond, Duration duration) {
+    }
+
+    private static final Map<String, Map<Endpoint, Integer>> SCRIPTS = Map.of(
+        "browse", weights(5, 5, 90),
+        "advise-heavy", weights(60, 30, 10),
+        "balanced", weights(34, 33, 33)
+    );
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String script = options.getOrDefault("script", "browse");
+        Map<Endpoint, Integer> mix = options.containsKey("mix")
+            ? parseMix(options.get("mix"))
+            : SCRIPTS.get(script);
+        if (mix == null) {
+            throw new IllegalArgumentException("Unknown script: " + script + ", expected one of " + SCRIPTS.keySet());
+        }
+
+        List<Stage> stages = options.containsKey("stages")
+            ? parseStages(options.get("stages"))
+            : List.of(new Stage(
+                Double.parseDouble(options.getOrDefault("rate", "20")),
+                parseDuration(options.getOrDefault("duration", "60s"))));
+
+        return new LoadTestConfig(
+            options.getOrDefault("base-url", "http://localhost:5000"),
+            options.containsKey("mix") ? "custom" : script,
+            mix,
+            stages,
+            parseDuration(options.getOrDefault("warmup", "10s")),
+            List.of(options.getOrDefault("skus", "SKU-001,SKU-002,SKU-003,SKU-004,SKU-005").split(",")),
+            parseDuration(options.getOrDefault("timeout", "30s")),
+            Integer.parseInt(options.getOrDefault("max-in-flight", "5000")),
+            options.getOrDefault("label", "run"),
+            Path.of(options.getOrDefault("report-dir", System.getProperty("loadtest.report-dir", "reports"))),
+            options.containsKey("baseline") ? Path.of(options.get("baseline")) : null
+        );
+    }
+
+    public Duration measuredDuration() {
+        return stages.stream().map(Stage::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private static Map<Endpoint, Integer> weights(int advise, int chat, int products) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        weights.put(Endpoint.ADVISE, advise);
+        weights.put(Endpoint.CHAT, chat);
+        weights.put(Endpoint.PRODUCTS, products);
+        return weights;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            mix.put(Endpoint.fromKey(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    private static List<Stage> parseStages(String value) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("@");
+            stages.add(new Stage(Double.parseDouble(pair[0].trim()), parseDuration(pair[1].trim())));
+        }
+        return stages;
+    }
+
+    /**
+     * Accepts 500ms, 30s, 5m or an ISO-8601 duration
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
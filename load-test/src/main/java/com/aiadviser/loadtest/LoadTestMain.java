@@ -0,0 +1,31 @@
+package com.aiadviser.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Drives a scripted request mix against a running AI Adviser (demo profile) and writes a report.
+ * <pre>
+ * mvn -q -f load-test/pom.xml compile exec:java -Dexec.args="--script=browse --stages=20@60s,50@60s --label=baseline"
+ * </pre>
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.printf("Load test '%s' against %s, mix %s%n", config.label(), config.baseUrl(), config.mix());
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<Endpoint, EndpointStats> stats = new OpenLoopRunner(config).run();
+
+        LoadTestReport report = LoadTestReport.of(config, startedAt, stats);
+        report.print(System.out);
+        Path written = report.write(config.reportDir(), startedAt, stats);
+        System.out.println("\nReport written to " + written.toAbsolutePath());
+
+        if (config.baseline() != null) {
+            report.printComparison(System.out, LoadTestReport.read(config.baseline()));
+        }
+    }
+}
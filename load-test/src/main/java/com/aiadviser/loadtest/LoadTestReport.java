@@ -0,0 +1,189 @@
+package com.aiadviser.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of one run. Written as JSON next to one HdrHistogram percentile distribution (.hgrm)
+ * per endpoint, so runs can be diffed and plotted against each other.
+ */
+public record LoadTestReport(
+    String label,
+    String script,
+    String baseUrl,
+    String startedAt,
+    List<LoadTestConfig.Stage> stages,
+    Map<Endpoint, Integer> mix,
+    double measuredSeconds,
+    Map<String, EndpointSummary> endpoints,
+    EndpointSummary total
+) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .enable(SerializationFeature.INDENT_OUTPUT);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public record EndpointSummary(
+        long requests,
+        long successes,
+        long failures,
+        long timeouts,
+        long dropped,
+        double throughputPerSecond,
+        double meanMs,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        Map<Integer, Long> statusCounts
+    ) {
+
+        static EndpointSummary of(Histogram latency, long successes, long failures, long timeouts, long dropped,
+                                  Map<Integer, Long> statusCounts, double seconds) {
+            return new EndpointSummary(
+                successes + failures + timeouts + dropped,
+                successes,
+                failures,
+                timeouts,
+                dropped,
+                round(successes / seconds),
+                round(latency.getMean() / 1000.0),
+                millis(latency, 50),
+                millis(latency, 90),
+                millis(latency, 99),
+                millis(latency, 99.9),
+                round(latency.getMaxValue() / 1000.0),
+                statusCounts
+            );
+        }
+    }
+
+    public static LoadTestReport of(LoadTestConfig config, LocalDateTime startedAt, Map<Endpoint, EndpointStats> stats) {
+        double seconds = config.measuredDuration().toMillis() / 1000.0;
+        Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+        Histogram combined = new Histogram(3);
+        long successes = 0, failures = 0, timeouts = 0, dropped = 0;
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            if (config.mix().getOrDefault(entry.getKey(), 0) == 0) {
+                continue;
+            }
+            endpoints.put(entry.getKey().key(), EndpointSummary.of(endpointStats.latency(),
+                endpointStats.successes(), endpointStats.failures(), endpointStats.timeouts(),
+                endpointStats.dropped(), endpointStats.statusCounts(), seconds));
+
+            combined.add(endpointStats.latency());
+            successes += endpointStats.successes();
+            failures += endpointStats.failures();
+            timeouts += endpointStats.timeouts();
+            dropped += endpointStats.dropped();
+            endpointStats.statusCounts().forEach((status, count) -> statusCounts.merge(status, count, Long::sum));
+        }
+
+        return new LoadTestReport(
+            config.label(),
+            config.script(),
+            config.baseUrl(),
+            startedAt.toString(),
+            config.stages(),
+            config.mix(),
+            seconds,
+            endpoints,
+            EndpointSummary.of(combined, successes, failures, timeouts, dropped, statusCounts, seconds)
+        );
+    }
+
+    /**
+     * Writes &lt;timestamp&gt;-&lt;label&gt;.json and one .hgrm file per endpoint, returning the JSON path
+     */
+    public Path write(Path directory, LocalDateTime startedAt, Map<Endpoint, EndpointStats> stats) throws IOException {
+        Files.createDirectories(directory);
+        String baseName = startedAt.format(FILE_TIMESTAMP) + "-" + label;
+
+        Path json = directory.resolve(baseName + ".json");
+        MAPPER.writeValue(json.toFile(), this);
+
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            if (!endpoints.containsKey(entry.getKey().key())) {
+                continue;
+            }
+            Path hgrm = directory.resolve(baseName + "-" + entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                entry.getValue().latency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return json;
+    }
+
+    public static LoadTestReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%s (%s, %.0fs measured)%n", label, script, measuredSeconds);
+        out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "dropped");
+        endpoints.forEach((name, summary) -> printRow(out, name, summary));
+        printRow(out, "total", total);
+    }
+
+    /**
+     * Prints throughput and tail latency relative to a previous run
+     */
+    public void printComparison(PrintStream out, LoadTestReport baseline) {
+        out.printf("%nCompared with %s (%s):%n", baseline.label(), baseline.startedAt());
+        out.printf("%-10s %12s %12s %12s%n", "endpoint", "req/s", "p99", "p999");
+        endpoints.forEach((name, summary) -> {
+            EndpointSummary before = baseline.endpoints().get(name);
+            if (before != null) {
+                printDelta(out, name, summary, before);
+            }
+        });
+        printDelta(out, "total", total, baseline.total());
+    }
+
+    private static void printRow(PrintStream out, String name, EndpointSummary summary) {
+        out.printf("%-10s %9d %9d %9.1f %9.1f %9.1f %9.1f %9.1f %9d%n",
+            name, summary.requests(), summary.failures() + summary.timeouts(), summary.throughputPerSecond(),
+            summary.p50Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs(), summary.dropped());
+    }
+
+    private static void printDelta(PrintStream out, String name, EndpointSummary now, EndpointSummary before) {
+        out.printf("%-10s %12s %12s %12s%n", name,
+            percentChange(before.throughputPerSecond(), now.throughputPerSecond()),
+            percentChange(before.p99Ms(), now.p99Ms()),
+            percentChange(before.p999Ms(), now.p999Ms()));
+    }
+
+    private static String percentChange(double before, double now) {
+        if (before == 0) {
+            return "n/a";
+        }
+        return String.format("%+.1f%%", (now - before) * 100.0 / before);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
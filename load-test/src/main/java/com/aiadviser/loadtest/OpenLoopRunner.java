@@ -0,0 +1,118 @@
+package com.aiadviser.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop load generator. Requests are sent on a fixed schedule derived from each stage's
+ * arrival rate, regardless of how fast earlier requests complete, and latency is measured from
+ * the scheduled send time. A slow server therefore shows up as queueing in the percentiles
+ * instead of silently lowering the offered load (no coordinated omission).
+ */
+public class OpenLoopRunner {
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Endpoint[] weightedEndpoints;
+
+    public OpenLoopRunner(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(config.timeout())
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        this.weightedEndpoints = config.mix().entrySet().stream()
+            .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+            .toArray(Endpoint[]::new);
+        if (weightedEndpoints.length == 0) {
+            throw new IllegalArgumentException("Request mix has no weight");
+        }
+    }
+
+    public Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        Map<Endpoint, EndpointStats> discarded = newStats();
+        Map<Endpoint, EndpointStats> measured = newStats();
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            LoadTestConfig.Stage first = config.stages().get(0);
+            if (!config.warmup().isZero()) {
+                System.out.printf("Warming up for %s at %.1f req/s%n", config.warmup(), first.ratePerSecond());
+                runStage(senders, first.ratePerSecond(), config.warmup().toNanos(), discarded);
+            }
+            for (LoadTestConfig.Stage stage : config.stages()) {
+                System.out.printf("Stage: %.1f req/s for %s%n", stage.ratePerSecond(), stage.duration());
+                runStage(senders, stage.ratePerSecond(), stage.duration().toNanos(), measured);
+            }
+            senders.shutdown();
+            if (!senders.awaitTermination(config.timeout().toSeconds() + 5, TimeUnit.SECONDS)) {
+                System.out.println("Some requests were still in flight when the run ended");
+            }
+        }
+        return measured;
+    }
+
+    private void runStage(ExecutorService senders, double ratePerSecond, long durationNanos,
+                          Map<Endpoint, EndpointStats> stats) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long stageStart = System.nanoTime();
+
+        for (long n = 0; ; n++) {
+            long intendedStart = stageStart + n * intervalNanos;
+            if (intendedStart - stageStart >= durationNanos) {
+                return;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            String sku = config.skus().get(random.nextInt(config.skus().size()));
+            EndpointStats endpointStats = stats.get(endpoint);
+
+            if (inFlight.incrementAndGet() > config.maxInFlight()) {
+                inFlight.decrementAndGet();
+                endpointStats.recordDropped();
+                continue;
+            }
+            HttpRequest request = endpoint.buildRequest(config.baseUrl(), sku, config.timeout());
+            senders.execute(() -> send(request, intendedStart, endpointStats));
+        }
+    }
+
+    private void send(HttpRequest request, long intendedStart, EndpointStats stats) {
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.recordResponse(response.statusCode(), System.nanoTime() - intendedStart);
+        } catch (HttpTimeoutException e) {
+            stats.recordTimeout(System.nanoTime() - intendedStart);
+        } catch (Exception e) {
+            stats.recordFailure();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static Map<Endpoint, EndpointStats> newStats() {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : List.of(Endpoint.values())) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,23 @@
+package com.aiadviser.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache SPI used by the services. Entries live in named regions. Invalidating a region bumps its
+ * version, and entries written under an older version are no longer returned, on every node that
+ * shares the store. Values must be treated as immutable once put.
+ * <p>
+ * Implementations are selected with {@code cache.store}: {@code local} keeps a bounded per-JVM LRU,
+ * {@code jdbc} shares entries through the database so replicas reuse each other's results.
+ */
+public interface CacheStore {
+
+    <V> Optional<V> get(String region, String key, Class<V> type);
+
+    void put(String region, String key, Object value, Duration ttl);
+
+    void evict(String region, String key);
+
+    void invalidateRegion(String region);
+}
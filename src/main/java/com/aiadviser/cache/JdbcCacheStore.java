@@ -0,0 +1,111 @@
+package com.aiadviser.cache;
+
+import com.aiadviser.lock.JobLock;
+import com.aiadviser.repository.CacheEntryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache shared by every node through the cache_entries table. Values are stored as JSON and
+ * region versions live in cache_regions, so invalidating a region on one node hides its entries
+ * on all of them. A database failure degrades to a cache miss rather than failing the request.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.store", havingValue = "jdbc")
+public class JdbcCacheStore implements CacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcCacheStore.class);
+    private static final String PURGE_JOB = "cache-purge";
+
+    private final CacheEntryRepository cacheEntryRepository;
+    private final ObjectMapper objectMapper;
+    private final JobLock jobLock;
+    private final MeterRegistry meterRegistry;
+
+    public JdbcCacheStore(
+            CacheEntryRepository cacheEntryRepository,
+            ObjectMapper objectMapper,
+            JobLock jobLock,
+            MeterRegistry meterRegistry
+    ) {
+        this.cacheEntryRepository = cacheEntryRepository;
+        this.objectMapper = objectMapper;
+        this.jobLock = jobLock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <V> Optional<V> get(String region, String key, Class<V> type) {
+        Optional<V> value;
+        try {
+            value = cacheEntryRepository.findLive(region, key).map(payload -> read(payload, type));
+        } catch (DataAccessException | IllegalStateException e) {
+            log.warn("Shared cache read failed for {}/{}: {}", region, key, e.getMessage());
+            value = Optional.empty();
+        }
+        meterRegistry.counter("cache.requests", "store", "jdbc", "region", region,
+            "result", value.isPresent() ? "hit" : "miss").increment();
+        return value;
+    }
+
+    @Override
+    public void put(String region, String key, Object value, Duration ttl) {
+        try {
+            cacheEntryRepository.upsert(region, key, objectMapper.writeValueAsString(value), ttl.toMillis());
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Shared cache write failed for {}/{}: {}", region, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        try {
+            cacheEntryRepository.delete(region, key);
+        } catch (DataAccessException e) {
+            log.warn("Shared cache evict failed for {}/{}: {}", region, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void invalidateRegion(String region) {
+        try {
+            cacheEntryRepository.bumpRegionVersion(region);
+        } catch (DataAccessException e) {
+            log.warn("Shared cache invalidation failed for region {}: {}", region, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes expired and superseded rows; reads already ignore them, this only reclaims space
+     */
+    @Scheduled(
+        initialDelayString = "${cache.jdbc.purge-interval:PT10M}",
+        fixedDelayString = "${cache.jdbc.purge-interval:PT10M}"
+    )
+    public void purge() {
+        jobLock.runExclusively(PURGE_JOB, () -> {
+            int purged = cacheEntryRepository.deleteDead();
+            if (purged > 0) {
+                log.info("Purged {} expired or invalidated shared cache entries", purged);
+            }
+        });
+    }
+
+    private <V> V read(String payload, Class<V> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable cache entry: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.aiadviser.cache;
+
+import com.aiadviser.config.CacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process cache. Holds at most cache.local.max-entries across all regions and evicts
+ * the least recently used entry beyond that. Values are kept by reference, not copied.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.store", havingValue = "local", matchIfMissing = true)
+public class LocalCacheStore implements CacheStore {
+
+    private final int maxEntries;
+    private final Map<String, AtomicLong> regionVersions = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MeterRegistry meterRegistry;
+
+    public LocalCacheStore(CacheConfig config, MeterRegistry meterRegistry) {
+        this.maxEntries = config.getLocal().getMaxEntries();
+        this.meterRegistry = meterRegistry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        meterRegistry.gauge("cache.local.size", entries, Map::size);
+    }
+
+    @Override
+    public <V> Optional<V> get(String region, String key, Class<V> type) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(entryKey(region, key));
+        } finally {
+            lock.unlock();
+        }
+
+        boolean hit = entry != null
+            && entry.version() == regionVersion(region).get()
+            && entry.expiresAtMillis() > System.currentTimeMillis()
+            && type.isInstance(entry.value());
+        meterRegistry.counter("cache.requests", "store", "local", "region", region, "result", hit ? "hit" : "miss")
+            .increment();
+        return hit ? Optional.of(type.cast(entry.value())) : Optional.empty();
+    }
+
+    @Override
+    public void put(String region, String key, Object value, Duration ttl) {
+        Entry entry = new Entry(value, regionVersion(region).get(), System.currentTimeMillis() + ttl.toMillis());
+        lock.lock();
+        try {
+            entries.put(entryKey(region, key), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        lock.lock();
+        try {
+            entries.remove(entryKey(region, key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stale entries are not removed eagerly; they fail the version check and age out of the LRU
+     */
+    @Override
+    public void invalidateRegion(String region) {
+        regionVersion(region).incrementAndGet();
+    }
+
+    private AtomicLong regionVersion(String region) {
+        return regionVersions.computeIfAbsent(region, r -> new AtomicLong());
+    }
+
+    private static String entryKey(String region, String key) {
+        return region + '\u0000' + key;
+    }
+
+    private record Entry(Object value, long version, long expiresAtMillis) {
+    }
+}
@@ -1,97 +1,108 @@
 package com.aiadviser.client;
 
 import com.aiadviser.config.ShopifyConfig;
-import com.aiadviser.model.shopify.ShopifyCustomer;
-import com.aiadviser.model.shopify.ShopifyLineItem;
+import com.aiadviser.http.OutboundHttpClient;
+import com.aiadviser.http.OutboundHttpClientFactory;
 import com.aiadviser.model.shopify.ShopifyOrder;
 import com.aiadviser.model.shopify.ShopifyOrdersResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.function.Consumer;
 
 @Component
 public class ShopifyClient {
 
     private static final Logger log = LoggerFactory.getLogger(ShopifyClient.class);
-    private final Random random = new Random();
-    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final int PAGE_LIMIT = 250;
     private final ShopifyConfig config;
+    private final OutboundHttpClient httpClient;
 
-    public ShopifyClient(ShopifyConfig config) {
+    public ShopifyClient(ShopifyConfig config, OutboundHttpClientFactory httpClientFactory) {
         this.config = config;
+        this.httpClient = httpClientFactory.create("shopify", config.getBaseUrl(), config.getHttp());
         log.info("ShopifyClient initialized with base URL: {}", config.getBaseUrl());
     }
 
     /**
-     * Fetches orders from Shopify API (stub implementation)
-     * Returns realistic Shopify API structure matching real API response
+     * Fetches the whole shop's orders created in the last {@code days} days from the Shopify Admin API,
+     * following the {@code Link: rel="next"} page_info cursor until the last page. The orders endpoint
+     * cannot filter by SKU, so callers pick the matching line items. Each page is handed to
+     * {@code pageConsumer} as it arrives, so the shop's orders are never all held in memory.
+     * Returns the number of orders read.
      */
-    public ShopifyOrdersResponse fetchOrdersForSku(String sku, int days) {
-        List<ShopifyOrder> orders = new ArrayList<>();
-        LocalDate today = LocalDate.now();
+    public int fetchOrders(int days, Consumer<List<ShopifyOrder>> pageConsumer) {
+        String createdAtMin = LocalDate.now(ZoneOffset.UTC).minusDays(days)
+            .atStartOfDay().atOffset(ZoneOffset.UTC).format(ISO_FORMATTER);
 
-        for (int i = 0; i < days; i++) {
-            LocalDate orderDate = today.minusDays(i);
-            int quantity = random.nextInt(5) + 1;
-            double unitPrice = 99.99 + (random.nextDouble() * 50);
-            double subtotal = unitPrice * quantity;
-            double tax = subtotal * 0.08;
-            double total = subtotal + tax;
+        int pages = 0;
+        int orders = 0;
+        String pageInfo = null;
+        do {
+            ResponseEntity<ShopifyOrdersResponse> page = fetchOrdersPage(createdAtMin, pageInfo);
+            if (page == null || page.getBody() == null || page.getBody().orders() == null) {
+                throw new RuntimeException("Empty Shopify orders response on page " + (pages + 1));
+            }
+            pageConsumer.accept(page.getBody().orders());
+            orders += page.getBody().orders().size();
+            pages++;
+            pageInfo = nextPageInfo(page.getHeaders().getFirst(HttpHeaders.LINK));
+        } while (pageInfo != null);
 
-            ShopifyCustomer customer = new ShopifyCustomer(
-                1000000000L + random.nextInt(1000000),
-                "customer" + i + "@example.com",
-                "John",
-                "Doe",
-                random.nextInt(10) + 1,
-                String.format("%.2f", total * 2),
-                true,
-                "+1234567890"
-            );
-
-            ShopifyLineItem lineItem = new ShopifyLineItem(
-                2000000000L + random.nextInt(1000000),
-                3000000000L + random.nextInt(1000000),
-                4000000000L + random.nextInt(1000000),
-                "Product Name",
-                "Default Variant",
-                sku,
-                "Test Vendor",
-                quantity,
-                String.format("%.2f", unitPrice),
-                500 + random.nextInt(1000),
-                true,
-                true,
-                null,
-                "Product Name - Default Variant"
-            );
+        log.debug("Fetched {} Shopify orders of the last {} days in {} page(s)", orders, days, pages);
+        return orders;
+    }
 
-            ShopifyOrder order = new ShopifyOrder(
-                5000000000L + random.nextInt(1000000),
-                "#" + (1000 + i),
-                1000 + i,
-                orderDate.atTime(10, random.nextInt(60)).format(ISO_FORMATTER),
-                orderDate.atTime(10, random.nextInt(60)).format(ISO_FORMATTER),
-                "USD",
-                String.format("%.2f", total),
-                String.format("%.2f", subtotal),
-                String.format("%.2f", tax),
-                random.nextBoolean() ? "paid" : "pending",
-                random.nextBoolean() ? "fulfilled" : null,
-                List.of(lineItem),
-                customer,
-                customer.email()
-            );
+    /**
+     * Reads one page of orders. Shopify rejects filters next to page_info, since the cursor already
+     * carries them, so later pages send only the cursor and the limit.
+     */
+    private ResponseEntity<ShopifyOrdersResponse> fetchOrdersPage(String createdAtMin, String pageInfo) {
+        return httpClient.execute(webClient -> webClient.get()
+            .uri(uriBuilder -> {
+                uriBuilder.path("/admin/api/{version}/orders.json")
+                    .queryParam("limit", PAGE_LIMIT);
+                if (pageInfo == null) {
+                    uriBuilder.queryParam("status", "any")
+                        .queryParam("created_at_min", createdAtMin);
+                } else {
+                    uriBuilder.queryParam("page_info", pageInfo);
+                }
+                return uriBuilder.build(config.getApiVersion());
+            })
+            .header("X-Shopify-Access-Token", config.getApiKey())
+            .retrieve()
+            .toEntity(ShopifyOrdersResponse.class), true, "orders");
+    }
 
-            orders.add(order);
+    /**
+     * The page_info of the rel="next" entry of a Link header, e.g.
+     * {@code <https://shop/admin/api/2024-01/orders.json?limit=250&page_info=abc>; rel="next"}, or null on the last page
+     */
+    static String nextPageInfo(String linkHeader) {
+        if (linkHeader == null || linkHeader.isBlank()) {
+            return null;
         }
-
-        return new ShopifyOrdersResponse(orders);
+        for (String link : linkHeader.split(",")) {
+            int urlStart = link.indexOf('<');
+            int urlEnd = link.indexOf('>');
+            if (urlStart < 0 || urlEnd < urlStart || !link.substring(urlEnd).contains("rel=\"next\"")) {
+                continue;
+            }
+            return UriComponentsBuilder.fromUriString(link.substring(urlStart + 1, urlEnd).trim())
+                .build()
+                .getQueryParams()
+                .getFirst("page_info");
+        }
+        return null;
     }
 }
@@ -0,0 +1,118 @@
+package com.aiadviser.concurrent;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Structured fan-out for blocking subtasks within one request.
+ * With spring.threads.virtual.enabled each subtask runs on its own virtual thread; the caller waits
+ * for all of them, and the first failure cancels (interrupts) the siblings still running before it
+ * is rethrown. Without virtual threads the subtasks run one after another on the calling thread, so
+ * nested fan-out can never exhaust a shared platform pool.
+ * StructuredTaskScope is still a preview API in Java 21, hence the ExecutorCompletionService.
+ */
+@Component
+public class FanOutExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(FanOutExecutor.class);
+
+    private final ExecutorService executor;
+
+    public FanOutExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fanout-", 0).factory())
+            : null;
+        log.info("Fan-out runs {}", virtualThreads ? "concurrently on virtual threads" : "sequentially on the caller thread");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public <A, B, R> R invokeBoth(Callable<A> first, Callable<B> second, BiFunction<A, B, R> combiner) {
+        List<Object> results = invokeAll(List.<Callable<Object>>of(first::call, second::call));
+        @SuppressWarnings("unchecked")
+        A a = (A) results.get(0);
+        @SuppressWarnings("unchecked")
+        B b = (B) results.get(1);
+        return combiner.apply(a, b);
+    }
+
+    /**
+     * Runs all tasks and returns their results in task order
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+        if (executor == null || tasks.size() < 2) {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(completion.submit(task));
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                completion.take().get();
+            }
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.resultNow());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for subtasks", e);
+        }
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable error) {
+        if (error instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        return new RuntimeException(error.getMessage(), error);
+    }
+}
@@ -0,0 +1,132 @@
+package com.aiadviser.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: fires a callback for each key once its deadline passes, with tick resolution.
+ * Scheduling and cancelling are O(1) and each tick only visits one bucket, so millions of pending
+ * deadlines cost no more per tick than a handful. Deadlines further out than one revolution are kept
+ * in their bucket with a remaining round count. At most one deadline is pending per key; scheduling
+ * a key again replaces its previous deadline.
+ */
+public class TimingWheel<K> implements AutoCloseable {
+
+    private final long tickMillis;
+    private final List<Timeout<K>>[] buckets;
+    private final Map<K, Timeout<K>> pending = new ConcurrentHashMap<>();
+    private final Consumer<K> onExpire;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService ticker;
+    private final long startedAt;
+    private long nextTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(String name, Duration tick, int wheelSize, Consumer<K> onExpire) {
+        if (tick.toMillis() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.tickMillis = tick.toMillis();
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.onExpire = onExpire;
+        this.startedAt = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name(name).daemon().factory());
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void schedule(K key, long deadlineMillis) {
+        lock.lock();
+        try {
+            long targetTick = Math.max(nextTick, Math.ceilDiv(deadlineMillis - startedAt, tickMillis));
+            Timeout<K> timeout = new Timeout<>(key, (targetTick - nextTick) / buckets.length);
+            buckets[(int) (targetTick % buckets.length)].add(timeout);
+
+            Timeout<K> previous = pending.put(key, timeout);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(K key) {
+        Timeout<K> timeout = pending.remove(key);
+        if (timeout != null) {
+            timeout.cancelled = true;
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Processes every tick that has elapsed since the last run, so a delayed ticker catches up
+     * instead of drifting. Callbacks run after the lock is released.
+     */
+    private void advance() {
+        List<K> expired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            while (startedAt + nextTick * tickMillis <= now) {
+                Iterator<Timeout<K>> bucket = buckets[(int) (nextTick % buckets.length)].iterator();
+                while (bucket.hasNext()) {
+                    Timeout<K> timeout = bucket.next();
+                    if (timeout.cancelled) {
+                        bucket.remove();
+                    } else if (timeout.remainingRounds > 0) {
+                        timeout.remainingRounds--;
+                    } else {
+                        bucket.remove();
+                        if (pending.remove(timeout.key, timeout)) {
+                            expired.add(timeout.key);
+                        }
+                    }
+                }
+                nextTick++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (K key : expired) {
+            try {
+                onExpire.accept(key);
+            } catch (RuntimeException e) {
+                // one failing callback must not stop the ticker
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(K key, long remainingRounds) {
+            this.key = key;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Nightly advice run over the whole catalog. Each SKU costs at most one call per upstream, so the run
+ * is paced to quota-share of the smallest upstream quota (requests per minute), leaving the rest for
+ * daytime traffic. A run still going when its window closes is stopped and marked expired.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "advice.batch")
+public class AdviceBatchConfig {
+    private boolean enabled = true;
+    private String cron = "0 0 2 * * *";
+    private Duration window = Duration.ofHours(4);
+    private Duration resumeInterval = Duration.ofMinutes(1);
+    private int chunkSize = 50;
+    private int concurrency = 4;
+    private Map<String, Integer> quotas = new HashMap<>();
+    private double quotaShare = 0.5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getResumeInterval() {
+        return resumeInterval;
+    }
+
+    public void setResumeInterval(Duration resumeInterval) {
+        this.resumeInterval = resumeInterval;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Map<String, Integer> getQuotas() {
+        return quotas;
+    }
+
+    public void setQuotas(Map<String, Integer> quotas) {
+        this.quotas = quotas;
+    }
+
+    public double getQuotaShare() {
+        return quotaShare;
+    }
+
+    public void setQuotaShare(double quotaShare) {
+        this.quotaShare = quotaShare;
+    }
+
+    /**
+     * SKUs per second the run may process, or 0 when no quota is configured
+     */
+    public double skusPerSecond() {
+        int smallestQuota = quotas.values().stream()
+            .filter(quota -> quota != null && quota > 0)
+            .mapToInt(Integer::intValue)
+            .min()
+            .orElse(0);
+        return smallestQuota * quotaShare / 60.0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Drift thresholds above which cached advice for a SKU is recomputed.
+ * Ratios are relative to the fingerprint the cached advice was computed from.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "advice.invalidation")
+public class AdviceInvalidationConfig {
+    private boolean enabled = true;
+    private double stockChangeRatio = 0.20;
+    private int stockChangeMinUnits = 5;
+    private double velocityChangeRatio = 0.25;
+    private BigDecimal velocityChangeMinUnits = new BigDecimal("0.5");
+    private double cogsChangeRatio = 0.05;
+    private int leadTimeChangeDays = 2;
+    private Duration maxAge = Duration.ofDays(7);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getStockChangeRatio() {
+        return stockChangeRatio;
+    }
+
+    public void setStockChangeRatio(double stockChangeRatio) {
+        this.stockChangeRatio = stockChangeRatio;
+    }
+
+    public int getStockChangeMinUnits() {
+        return stockChangeMinUnits;
+    }
+
+    public void setStockChangeMinUnits(int stockChangeMinUnits) {
+        this.stockChangeMinUnits = stockChangeMinUnits;
+    }
+
+    public double getVelocityChangeRatio() {
+        return velocityChangeRatio;
+    }
+
+    public void setVelocityChangeRatio(double velocityChangeRatio) {
+        this.velocityChangeRatio = velocityChangeRatio;
+    }
+
+    public BigDecimal getVelocityChangeMinUnits() {
+        return velocityChangeMinUnits;
+    }
+
+    public void setVelocityChangeMinUnits(BigDecimal velocityChangeMinUnits) {
+        this.velocityChangeMinUnits = velocityChangeMinUnits;
+    }
+
+    public double getCogsChangeRatio() {
+        return cogsChangeRatio;
+    }
+
+    public void setCogsChangeRatio(double cogsChangeRatio) {
+        this.cogsChangeRatio = cogsChangeRatio;
+    }
+
+    public int getLeadTimeChangeDays() {
+        return leadTimeChangeDays;
+    }
+
+    public void setLeadTimeChangeDays(int leadTimeChangeDays) {
+        this.leadTimeChangeDays = leadTimeChangeDays;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
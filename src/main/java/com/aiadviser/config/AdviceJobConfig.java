@@ -0,0 +1,79 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous advice jobs. Jobs run on a fixed pool of workers behind a bounded queue; once the
+ * queue is full new jobs are refused with 429 instead of piling up. Finished jobs are kept for
+ * result-ttl so clients can collect them.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "advice.jobs")
+public class AdviceJobConfig {
+    private boolean enabled = true;
+    private int workers = 4;
+    private int queueCapacity = 50;
+    private Duration retryAfter = Duration.ofSeconds(5);
+    private Duration resultTtl = Duration.ofMinutes(10);
+    private Duration maxWait = Duration.ofSeconds(30);
+    private Duration streamTimeout = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getResultTtl() {
+        return resultTtl;
+    }
+
+    public void setResultTtl(Duration resultTtl) {
+        this.resultTtl = resultTtl;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+}
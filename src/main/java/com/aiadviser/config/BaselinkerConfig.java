@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Configuration;
 public class BaselinkerConfig {
     private String baseUrl;
     private String apiToken;
+    private OutboundHttpProperties http = new OutboundHttpProperties();
 
     public String getBaseUrl() {
         return baseUrl;
@@ -24,4 +25,12 @@ public class BaselinkerConfig {
     public void setApiToken(String apiToken) {
         this.apiToken = apiToken;
     }
+
+    public OutboundHttpProperties getHttp() {
+        return http;
+    }
+
+    public void setHttp(OutboundHttpProperties http) {
+        this.http = http;
+    }
 }
@@ -0,0 +1,135 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Chat session expiry and in-memory caching. Expired rows are deleted in chunks of
+ * {@code expiry.chunk-size} every {@code expiry.interval}, pausing between chunks so no single
+ * statement holds locks for long; cached sessions are evicted by a timing wheel as they expire.
+ * Chat turns reuse the SKU's aggregated input snapshot while it is younger than
+ * {@code input-snapshot.freshness}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "chat-sessions")
+public class ChatSessionConfig {
+    private Expiry expiry = new Expiry();
+    private Cache cache = new Cache();
+    private InputSnapshot inputSnapshot = new InputSnapshot();
+
+    public Expiry getExpiry() {
+        return expiry;
+    }
+
+    public void setExpiry(Expiry expiry) {
+        this.expiry = expiry;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public InputSnapshot getInputSnapshot() {
+        return inputSnapshot;
+    }
+
+    public void setInputSnapshot(InputSnapshot inputSnapshot) {
+        this.inputSnapshot = inputSnapshot;
+    }
+
+    public static class Expiry {
+        private Duration interval = Duration.ofMinutes(1);
+        private int chunkSize = 500;
+        private int maxChunksPerRun = 20;
+        private Duration pauseBetweenChunks = Duration.ofMillis(50);
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxChunksPerRun() {
+            return maxChunksPerRun;
+        }
+
+        public void setMaxChunksPerRun(int maxChunksPerRun) {
+            this.maxChunksPerRun = maxChunksPerRun;
+        }
+
+        public Duration getPauseBetweenChunks() {
+            return pauseBetweenChunks;
+        }
+
+        public void setPauseBetweenChunks(Duration pauseBetweenChunks) {
+            this.pauseBetweenChunks = pauseBetweenChunks;
+        }
+    }
+
+    public static class Cache {
+        private boolean enabled = true;
+        private Duration tick = Duration.ofSeconds(1);
+        private int wheelSize = 512;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+    }
+
+    public static class InputSnapshot {
+        private boolean enabled = true;
+        private Duration freshness = Duration.ofMinutes(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getFreshness() {
+            return freshness;
+        }
+
+        public void setFreshness(Duration freshness) {
+            this.freshness = freshness;
+        }
+    }
+}
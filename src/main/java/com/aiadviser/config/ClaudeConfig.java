@@ -3,6 +3,10 @@ package com.aiadviser.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "external-services.claude")
 public class ClaudeConfig {
@@ -11,6 +15,8 @@ public class ClaudeConfig {
     private String model;
     private String apiVersion;
     private int maxTokens;
+    private OutboundHttpProperties http = new OutboundHttpProperties();
+    private Routing routing = new Routing();
 
     public String getBaseUrl() {
         return baseUrl;
@@ -51,4 +57,116 @@ public class ClaudeConfig {
     public void setMaxTokens(int maxTokens) {
         this.maxTokens = maxTokens;
     }
+
+    public OutboundHttpProperties getHttp() {
+        return http;
+    }
+
+    public void setHttp(OutboundHttpProperties http) {
+        this.http = http;
+    }
+
+    public Routing getRouting() {
+        return routing;
+    }
+
+    public void setRouting(Routing routing) {
+        this.routing = routing;
+    }
+
+    /**
+     * Model selection per request type. Chat turns whose messages total at most short-chat-max-chars
+     * take the chat-short route, longer ones chat-long; analysis always takes the analysis route.
+     * Routes that are not configured fall back to model and max-tokens above.
+     */
+    public static class Routing {
+        private boolean enabled = true;
+        private int shortChatMaxChars = 4000;
+        private Map<String, Route> routes = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getShortChatMaxChars() {
+            return shortChatMaxChars;
+        }
+
+        public void setShortChatMaxChars(int shortChatMaxChars) {
+            this.shortChatMaxChars = shortChatMaxChars;
+        }
+
+        public Map<String, Route> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(Map<String, Route> routes) {
+            this.routes = routes;
+        }
+    }
+
+    /**
+     * A model with its own deadline, and an optional fallback model tried once when that deadline passes.
+     * With hedge, calls on the route's model are hedged under http.hedge.
+     */
+    public static class Route {
+        private String model;
+        private Integer maxTokens;
+        private Duration deadline;
+        private String fallbackModel;
+        private Duration fallbackDeadline;
+        private boolean hedge;
+
+        public String getModel() {
+            return model;
+        }
+
+        public void setModel(String model) {
+            this.model = model;
+        }
+
+        public Integer getMaxTokens() {
+            return maxTokens;
+        }
+
+        public void setMaxTokens(Integer maxTokens) {
+            this.maxTokens = maxTokens;
+        }
+
+        public Duration getDeadline() {
+            return deadline;
+        }
+
+        public void setDeadline(Duration deadline) {
+            this.deadline = deadline;
+        }
+
+        public String getFallbackModel() {
+            return fallbackModel;
+        }
+
+        public void setFallbackModel(String fallbackModel) {
+            this.fallbackModel = fallbackModel;
+        }
+
+        public Duration getFallbackDeadline() {
+            return fallbackDeadline;
+        }
+
+        public void setFallbackDeadline(Duration fallbackDeadline) {
+            this.fallbackDeadline = fallbackDeadline;
+        }
+
+        public boolean isHedge() {
+            return hedge;
+        }
+
+        public void setHedge(boolean hedge) {
+            this.hedge = hedge;
+        }
+    }
 }
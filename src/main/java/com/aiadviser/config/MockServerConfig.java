@@ -3,11 +3,17 @@ package com.aiadviser.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "mockserver")
 public class MockServerConfig {
     private boolean enabled;
     private int port;
+    private String profile = "fast";
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
 
     public boolean isEnabled() {
         return enabled;
@@ -24,4 +30,205 @@ public class MockServerConfig {
     public void setPort(int port) {
         this.port = port;
     }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public Map<String, Profile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, Profile> profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * The selected profile, or an instant, error-free one when the name is not configured
+     */
+    public Profile getActiveProfile() {
+        return profiles.getOrDefault(profile, new Profile());
+    }
+
+    /**
+     * Upstream behaviour and payload sizes for one named mock profile
+     */
+    public static class Profile {
+        private long seed = 42;
+        private int catalogSize = 5;
+        private double demandScale = 1.0;
+        private int maxOrdersPerPage = 250;
+        private double journalEventsPerSecond = 1.0;
+        private Upstream shopify = new Upstream();
+        private Upstream baselinker = new Upstream();
+        private Upstream claude = new Upstream();
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getCatalogSize() {
+            return catalogSize;
+        }
+
+        public void setCatalogSize(int catalogSize) {
+            this.catalogSize = catalogSize;
+        }
+
+        public double getDemandScale() {
+            return demandScale;
+        }
+
+        public void setDemandScale(double demandScale) {
+            this.demandScale = demandScale;
+        }
+
+        public int getMaxOrdersPerPage() {
+            return maxOrdersPerPage;
+        }
+
+        public void setMaxOrdersPerPage(int maxOrdersPerPage) {
+            this.maxOrdersPerPage = maxOrdersPerPage;
+        }
+
+        public double getJournalEventsPerSecond() {
+            return journalEventsPerSecond;
+        }
+
+        public void setJournalEventsPerSecond(double journalEventsPerSecond) {
+            this.journalEventsPerSecond = journalEventsPerSecond;
+        }
+
+        public Upstream getShopify() {
+            return shopify;
+        }
+
+        public void setShopify(Upstream shopify) {
+            this.shopify = shopify;
+        }
+
+        public Upstream getBaselinker() {
+            return baselinker;
+        }
+
+        public void setBaselinker(Upstream baselinker) {
+            this.baselinker = baselinker;
+        }
+
+        public Upstream getClaude() {
+            return claude;
+        }
+
+        public void setClaude(Upstream claude) {
+            this.claude = claude;
+        }
+    }
+
+    /**
+     * Latency and failure injection for one mocked upstream. Rates are probabilities per request.
+     */
+    public static class Upstream {
+        private Latency latency = new Latency();
+        private double errorRate;
+        private double throttleRate;
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public Latency getLatency() {
+            return latency;
+        }
+
+        public void setLatency(Latency latency) {
+            this.latency = latency;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        public double getThrottleRate() {
+            return throttleRate;
+        }
+
+        public void setThrottleRate(double throttleRate) {
+            this.throttleRate = throttleRate;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public enum Distribution {
+        FIXED,
+        LOGNORMAL,
+        LONG_TAIL
+    }
+
+    /**
+     * FIXED always waits {@code median}. LOGNORMAL samples median * exp(sigma * N(0,1)).
+     * LONG_TAIL is LOGNORMAL plus, with {@code tailProbability}, a stall of one to two times {@code tail}.
+     */
+    public static class Latency {
+        private Distribution distribution = Distribution.FIXED;
+        private Duration median = Duration.ZERO;
+        private double sigma = 0.5;
+        private double tailProbability = 0.01;
+        private Duration tail = Duration.ofSeconds(5);
+
+        public Distribution getDistribution() {
+            return distribution;
+        }
+
+        public void setDistribution(Distribution distribution) {
+            this.distribution = distribution;
+        }
+
+        public Duration getMedian() {
+            return median;
+        }
+
+        public void setMedian(Duration median) {
+            this.median = median;
+        }
+
+        public double getSigma() {
+            return sigma;
+        }
+
+        public void setSigma(double sigma) {
+            this.sigma = sigma;
+        }
+
+        public double getTailProbability() {
+            return tailProbability;
+        }
+
+        public void setTailProbability(double tailProbability) {
+            this.tailProbability = tailProbability;
+        }
+
+        public Duration getTail() {
+            return tail;
+        }
+
+        public void setTail(Duration tail) {
+            this.tail = tail;
+        }
+    }
 }
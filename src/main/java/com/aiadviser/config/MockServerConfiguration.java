@@ -1,5 +1,9 @@
 package com.aiadviser.config;
 
+import com.aiadviser.mock.SyntheticDataGenerator;
+import com.aiadviser.mock.SyntheticOrder;
+import com.aiadviser.mock.SyntheticSku;
+import com.aiadviser.mock.SyntheticStockJournal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -13,7 +17,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
@@ -24,21 +34,32 @@ import static org.mockserver.model.HttpResponse.response;
 public class MockServerConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(MockServerConfiguration.class);
+    private static final int JOURNAL_RETENTION = 5000;
+    private static final int JOURNAL_PAGE_SIZE = 100;
     private ClientAndServer mockServer;
     private final MockServerConfig config;
+    private final MockServerConfig.Profile profile;
+    private final SyntheticDataGenerator generator;
+    private final SyntheticStockJournal stockJournal;
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Random random = new Random();
+    private final Random random;
 
     public MockServerConfiguration(MockServerConfig config) {
         this.config = config;
+        this.profile = config.getActiveProfile();
+        this.generator = new SyntheticDataGenerator(profile.getSeed(), profile.getCatalogSize(), profile.getDemandScale());
+        this.stockJournal = new SyntheticStockJournal(
+            generator, profile.getSeed(), profile.getJournalEventsPerSecond(), JOURNAL_RETENTION);
+        this.random = new Random(profile.getSeed());
     }
 
     @PostConstruct
     public void startMockServer() {
-        log.info("Starting MockServer on port {}...", config.getPort());
+        log.info("Starting MockServer on port {} with profile '{}' ({} SKUs, seed {})...",
+            config.getPort(), config.getProfile(), profile.getCatalogSize(), profile.getSeed());
         mockServer = ClientAndServer.startClientAndServer(config.getPort());
         setupMockExpectations();
-        log.info("MockServer started successfully with dynamic random data generation");
+        log.info("MockServer started successfully with seeded synthetic data");
     }
 
     @PreDestroy
@@ -67,9 +88,13 @@ public class MockServerConfiguration {
                 Times.unlimited()
             )
             .respond(
-                httpRequest -> {
+                httpRequest -> respondAs(profile.getBaselinker(), () -> {
                     try {
-                        Map<String, Object> response = generateRandomBaselinkerResponse();
+                        String body = httpRequest.getBodyAsString();
+                        Map<String, Object> parameters = extractParameters(body);
+                        Map<String, Object> response = "getJournalList".equals(extractFormField(body, "method"))
+                            ? generateJournalResponse(parameters)
+                            : generateRandomBaselinkerResponse((String) parameters.get("filter_sku"));
                         String json = objectMapper.writeValueAsString(response);
                         return response()
                             .withStatusCode(200)
@@ -79,7 +104,7 @@ public class MockServerConfiguration {
                         log.error("Error generating Baselinker response", e);
                         return response().withStatusCode(500);
                     }
-                }
+                })
             );
         
         log.info("Baselinker dynamic mocks configured");
@@ -96,19 +121,38 @@ public class MockServerConfiguration {
                 Times.unlimited()
             )
             .respond(
-                httpRequest -> {
+                httpRequest -> respondAs(profile.getShopify(), () -> {
                     try {
-                        Map<String, Object> response = generateRandomShopifyResponse();
-                        String json = objectMapper.writeValueAsString(response);
-                        return response()
+                        // Later pages carry only page_info, which encodes the window and the offset
+                        String pageInfo = httpRequest.getFirstQueryStringParameter("page_info");
+                        String[] cursor = pageInfo == null || pageInfo.isEmpty()
+                            ? new String[] {
+                                String.valueOf(extractDays(httpRequest.getFirstQueryStringParameter("created_at_min"))), "0"}
+                            : new String(Base64.getUrlDecoder().decode(pageInfo), StandardCharsets.UTF_8).split(":");
+                        int days = Integer.parseInt(cursor[0]);
+                        int offset = Integer.parseInt(cursor[1]);
+
+                        List<Map<String, Object>> orders = generateShopifyOrdersPage(days, offset);
+                        int pageSize = shopifyPageSize();
+                        boolean hasNext = orders.size() > pageSize;
+                        String json = objectMapper.writeValueAsString(
+                            Map.of("orders", hasNext ? orders.subList(0, pageSize) : orders));
+                        HttpResponse page = response()
                             .withStatusCode(200)
                             .withHeader("Content-Type", "application/json; charset=utf-8")
                             .withBody(json);
+                        if (hasNext) {
+                            String next = Base64.getUrlEncoder().withoutPadding()
+                                .encodeToString((days + ":" + (offset + pageSize)).getBytes(StandardCharsets.UTF_8));
+                            page.withHeader("Link", "<http://localhost:" + config.getPort() + httpRequest.getPath()
+                                + "?limit=" + pageSize + "&page_info=" + next + ">; rel=\"next\"");
+                        }
+                        return page;
                     } catch (Exception e) {
                         log.error("Error generating Shopify response", e);
                         return response().withStatusCode(500);
                     }
-                }
+                })
             );
         
         log.info("Shopify dynamic mocks configured");
@@ -125,7 +169,7 @@ public class MockServerConfiguration {
                 Times.unlimited()
             )
             .respond(
-                httpRequest -> {
+                httpRequest -> respondAs(profile.getClaude(), () -> {
                     try {
                         String requestBody = httpRequest.getBodyAsString();
                         boolean isChatRequest = requestBody != null && 
@@ -141,6 +185,11 @@ public class MockServerConfiguration {
                         } else {
                             response = generateRandomClaudeResponse();
                         }
+                        // Answer as whichever model the request was routed to
+                        Object model = requestBody != null ? objectMapper.readValue(requestBody, Map.class).get("model") : null;
+                        if (model != null) {
+                            response.put("model", model);
+                        }
                         
                         String json = objectMapper.writeValueAsString(response);
                         return response()
@@ -151,63 +200,148 @@ public class MockServerConfiguration {
                         log.error("Error generating Claude response", e);
                         return response().withStatusCode(500);
                     }
-                }
+                })
             );
         
         log.info("Claude dynamic mocks configured for recommendations and chat");
     }
 
-    private Map<String, Object> generateRandomBaselinkerResponse() {
+    /**
+     * Applies the profile's failure injection and latency to a mocked upstream response.
+     * Injected errors are 503s; throttled requests get 429 with a Retry-After header in seconds.
+     */
+    private HttpResponse respondAs(MockServerConfig.Upstream upstream, Supplier<HttpResponse> success) {
+        double roll = random.nextDouble();
+        HttpResponse response;
+        if (roll < upstream.getErrorRate()) {
+            response = response()
+                .withStatusCode(503)
+                .withHeader("Content-Type", "application/json; charset=utf-8")
+                .withBody("{\"error\":\"injected upstream failure\"}");
+        } else if (roll < upstream.getErrorRate() + upstream.getThrottleRate()) {
+            long retryAfterSeconds = Math.max(1, (upstream.getRetryAfter().toMillis() + 999) / 1000);
+            response = response()
+                .withStatusCode(429)
+                .withHeader("Retry-After", String.valueOf(retryAfterSeconds))
+                .withHeader("Content-Type", "application/json; charset=utf-8")
+                .withBody("{\"error\":\"rate limited\"}");
+        } else {
+            response = success.get();
+        }
+
+        long delayMillis = sampleLatencyMillis(upstream.getLatency());
+        return delayMillis > 0 ? response.withDelay(TimeUnit.MILLISECONDS, delayMillis) : response;
+    }
+
+    private long sampleLatencyMillis(MockServerConfig.Latency latency) {
+        double median = latency.getMedian().toMillis();
+        double sampled = switch (latency.getDistribution()) {
+            case FIXED -> median;
+            case LOGNORMAL -> median * Math.exp(latency.getSigma() * random.nextGaussian());
+            case LONG_TAIL -> random.nextDouble() < latency.getTailProbability()
+                ? latency.getTail().toMillis() * (1 + random.nextDouble())
+                : median * Math.exp(latency.getSigma() * random.nextGaussian());
+        };
+        return Math.round(sampled);
+    }
+
+    private Map<String, Object> generateRandomBaselinkerResponse(String filterSku) {
         Map<String, Object> response = new HashMap<>();
         response.put("status", "SUCCESS");
         
         Map<String, Map<String, Object>> products = new HashMap<>();
+        LocalDate today = LocalDate.now();
         
-        String[] productNames = {
-            "Premium Wireless Headphones",
-            "Smart Watch Pro",
-            "USB-C Cable 2m",
-            "Bluetooth Speaker",
-            "Laptop Stand Aluminum"
-        };
-        
-        String[] skus = {"SKU-001", "SKU-002", "SKU-003", "SKU-004", "SKU-005"};
-        
-        for (int i = 0; i < productNames.length; i++) {
-            String productId = String.valueOf(10000 + i);
-            Map<String, Object> product = generateRandomProductData(productId, skus[i], productNames[i]);
-            products.put(productId, product);
+        if (filterSku != null) {
+            SyntheticSku sku = generator.sku(filterSku);
+            products.put(sku.productId(), generateProductData(sku, today));
+        } else {
+            generator.catalog().forEach(sku -> products.put(sku.productId(), generateProductData(sku, today)));
         }
         
         response.put("products", products);
         return response;
     }
 
-    private Map<String, Object> generateRandomProductData(String productId, String sku, String name) {
+    /**
+     * Stock changes after last_log_id, oldest first, one page at a time
+     */
+    private Map<String, Object> generateJournalResponse(Map<String, Object> parameters) {
+        Object lastLogId = parameters.get("last_log_id");
+        long after = lastLogId != null ? Long.parseLong(lastLogId.toString()) : 0L;
+
+        List<Map<String, Object>> logs = new ArrayList<>();
+        for (SyntheticStockJournal.Event event : stockJournal.eventsAfter(after, JOURNAL_PAGE_SIZE)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("log_id", event.logId());
+            entry.put("log_type", "stock_change");
+            entry.put("product_id", generator.sku(event.sku()).productId());
+            entry.put("sku", event.sku());
+            entry.put("warehouse_id", event.warehouseId());
+            entry.put("quantity_change", event.quantityChange());
+            entry.put("date", event.date());
+            logs.add(entry);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "SUCCESS");
+        response.put("logs", logs);
+        return response;
+    }
+
+    /**
+     * Reads the form-encoded "parameters" JSON of a connector.php call
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> extractParameters(String body) {
+        String json = extractFormField(body, "parameters");
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (Exception e) {
+            log.warn("Unreadable Baselinker parameters: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private String extractFormField(String body, String name) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && name.equals(pair.substring(0, eq))) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> generateProductData(SyntheticSku sku, LocalDate today) {
         Map<String, Object> product = new HashMap<>();
         
-        int stockLevel = pickRandomStockLevel();
-        
-        product.put("product_id", productId);
-        product.put("ean", "590" + random.nextInt(9) + String.format("%09d", random.nextInt(1000000000)));
-        product.put("sku", sku);
-        product.put("name", name);
-        product.put("quantity", stockLevel);
-        
-        double retailPrice = pickRandomRetailPrice();
-        double cogs = pickRandomCOGS(retailPrice);
-        
-        product.put("price_brutto", retailPrice);
-        product.put("price_wholesale_netto", cogs);
+        int stockLevel = generator.stockOn(sku, today);
+        // Journal changes land on top of the generated level, so full reads agree with the journal
+        int warehouse1Stock = Math.max(0,
+            (int) (stockLevel * sku.primaryWarehouseShare()) + stockJournal.adjustment(sku.sku(), 0));
+        int warehouse2Stock = Math.max(0,
+            stockLevel - (int) (stockLevel * sku.primaryWarehouseShare()) + stockJournal.adjustment(sku.sku(), 1));
+        
+        product.put("product_id", sku.productId());
+        product.put("ean", sku.ean());
+        product.put("sku", sku.sku());
+        product.put("name", sku.name());
+        product.put("quantity", warehouse1Stock + warehouse2Stock);
+        product.put("price_brutto", sku.retailPrice());
+        product.put("price_wholesale_netto", sku.cogs());
         product.put("tax_rate", 23);
-        product.put("weight", 0.3 + (random.nextDouble() * 2.5));
-        product.put("description", pickRandomDescription(name));
-        product.put("manufacturer", pickRandomManufacturer());
-        product.put("category_id", 100 + random.nextInt(50));
-        product.put("images", List.of("https://example.com/images/" + sku + "-1.jpg"));
-        
-        int warehouse1Stock = (int)(stockLevel * (0.6 + random.nextDouble() * 0.3));
-        int warehouse2Stock = stockLevel - warehouse1Stock;
+        product.put("weight", 0.3 + Math.floorMod(sku.sku().hashCode(), 250) / 100.0);
+        product.put("description", sku.name() + " by " + sku.manufacturer());
+        product.put("manufacturer", sku.manufacturer());
+        product.put("category_id", 100 + Math.floorMod(sku.sku().hashCode(), 50));
+        product.put("images", List.of("https://example.com/images/" + sku.sku() + "-1.jpg"));
         
         Map<String, Integer> stock = new HashMap<>();
         stock.put("bl_1234", warehouse1Stock);
@@ -215,180 +349,134 @@ public class MockServerConfiguration {
         product.put("stock", stock);
         
         Map<String, String> locations = new HashMap<>();
-        locations.put("bl_1234", pickRandomLocation('A'));
-        locations.put("bl_5678", pickRandomLocation('B'));
+        locations.put("bl_1234", sku.primaryLocation());
+        locations.put("bl_5678", sku.secondaryLocation());
         product.put("locations", locations);
         
         return product;
     }
 
-    private int pickRandomStockLevel() {
-        int[] stockLevels = {
-            15, 23, 35, 42, 58, 67, 74, 88, 95, 103,
-            112, 127, 134, 145, 156, 168, 175, 189, 198, 210
-        };
-        return stockLevels[random.nextInt(stockLevels.length)];
+    private int shopifyPageSize() {
+        return profile.getMaxOrdersPerPage() > 0 ? profile.getMaxOrdersPerPage() : Integer.MAX_VALUE - 1;
     }
 
-    private double pickRandomRetailPrice() {
-        double[] prices = {
-            19.99, 29.99, 39.99, 49.99, 59.99,
-            69.99, 79.99, 89.99, 99.99, 119.99,
-            129.99, 149.99, 169.99, 189.99, 199.99,
-            219.99, 239.99, 249.99, 279.99, 299.99
-        };
-        return prices[random.nextInt(prices.length)];
+    /**
+     * One page of orders for the whole catalog, streamed from the generator from the given offset.
+     * One order past the page size is included so the caller knows whether a next page exists.
+     */
+    private List<Map<String, Object>> generateShopifyOrdersPage(int days, int offset) {
+        LocalDate today = LocalDate.now();
+        return generator.orders(today.minusDays(days - 1), today)
+            .skip(offset)
+            .limit(shopifyPageSize() + 1L)
+            .map(this::generateShopifyOrder)
+            .toList();
     }
 
-    private double pickRandomCOGS(double retailPrice) {
-        double[] marginPercentages = {
-            0.35, 0.38, 0.40, 0.42, 0.45,
-            0.48, 0.50, 0.52, 0.55, 0.58,
-            0.60, 0.62, 0.65, 0.67, 0.70,
-            0.72, 0.75, 0.77, 0.80, 0.82
-        };
-        double margin = marginPercentages[random.nextInt(marginPercentages.length)];
-        return Math.round(retailPrice * margin * 100.0) / 100.0;
-    }
-
-    private String pickRandomDescription(String productName) {
-        String[] adjectives = {
-            "Premium quality", "Professional grade", "High-performance",
-            "Cutting-edge", "Innovative", "Ergonomic", "Sleek and modern",
-            "Industry-leading", "State-of-the-art", "Advanced technology",
-            "Superior design", "Top-rated", "Award-winning", "Best-in-class",
-            "Next-generation", "Ultra-durable", "Feature-rich", "Versatile",
-            "Compact and powerful", "Stylish and functional"
-        };
-        String adjective = adjectives[random.nextInt(adjectives.length)];
-        return adjective + " " + productName.toLowerCase() + " for modern consumers";
-    }
-
-    private String pickRandomManufacturer() {
-        String[] manufacturers = {
-            "TechCorp", "InnovateTech", "GlobalElectronics", "PrimeTech Solutions",
-            "NextGen Industries", "Quantum Devices", "FutureTech", "Precision Manufacturing",
-            "Elite Electronics", "ProTech Systems", "Advanced Components", "SmartTech Inc",
-            "Digital Dynamics", "CoreTech", "Supreme Electronics", "VisionTech",
-            "MegaTech Corp", "UltraTech", "PowerTech Solutions", "TechMasters"
-        };
-        return manufacturers[random.nextInt(manufacturers.length)];
-    }
-
-    private String pickRandomLocation(char warehouse) {
-        String row = String.valueOf((char)('A' + random.nextInt(10)));
-        int shelf = random.nextInt(20) + 1;
-        int bin = random.nextInt(30) + 1;
-        return warehouse + "-" + row + shelf + "-" + String.format("%02d", bin);
-    }
-
-    private Map<String, Object> generateRandomShopifyResponse() {
-        Map<String, Object> response = new HashMap<>();
-        List<Map<String, Object>> orders = new ArrayList<>();
-        
-        for (int i = 0; i < 5; i++) {
-            orders.add(generateRandomShopifyOrder(i));
+    private int extractDays(String createdAtMin) {
+        if (createdAtMin == null || createdAtMin.length() < 10) {
+            return 30;
+        }
+        try {
+            long days = ChronoUnit.DAYS.between(LocalDate.parse(createdAtMin.substring(0, 10)), LocalDate.now());
+            return (int) Math.max(1, Math.min(days, 90));
+        } catch (Exception e) {
+            return 30;
         }
-        
-        response.put("orders", orders);
-        return response;
     }
 
-    private Map<String, Object> generateRandomShopifyOrder(int index) {
+    /**
+     * Shopify JSON for a synthetic order. Fields the generator does not model are drawn from
+     * a Random seeded with the order id, so repeated fetches return identical orders.
+     */
+    private Map<String, Object> generateShopifyOrder(SyntheticOrder synthetic) {
         Map<String, Object> order = new HashMap<>();
-        
-        long baseOrderId = 5000000000L + random.nextInt(1000000);
-        int orderNumber = 1000 + index;
-        
-        order.put("id", baseOrderId);
-        order.put("name", "#" + orderNumber);
-        order.put("order_number", orderNumber);
-        order.put("created_at", "2024-11-0" + (1 + random.nextInt(8)) + "T10:30:00");
-        order.put("updated_at", "2024-11-0" + (1 + random.nextInt(8)) + "T10:30:00");
+        Random orderRandom = new Random(synthetic.id());
+        String createdAt = synthetic.createdAt().toString();
+        
+        order.put("id", synthetic.id());
+        order.put("name", "#" + synthetic.orderNumber());
+        order.put("order_number", synthetic.orderNumber());
+        order.put("created_at", createdAt);
+        order.put("updated_at", createdAt);
         order.put("currency", "USD");
         
-        int quantity = pickRandomOrderQuantity();
-        double unitPrice = pickRandomRetailPrice();
-        double subtotal = unitPrice * quantity;
+        double unitPrice = synthetic.unitPrice().doubleValue();
+        double subtotal = unitPrice * synthetic.quantity();
         double tax = subtotal * 0.08;
         double total = subtotal + tax;
         
         order.put("total_price", String.format("%.2f", total));
         order.put("subtotal_price", String.format("%.2f", subtotal));
         order.put("total_tax", String.format("%.2f", tax));
-        order.put("financial_status", pickRandomStatus());
-        order.put("fulfillment_status", pickRandomFulfillmentStatus());
+        order.put("financial_status", pickRandomStatus(orderRandom));
+        order.put("fulfillment_status", pickRandomFulfillmentStatus(orderRandom));
         
-        Map<String, Object> customer = generateRandomCustomer();
+        Map<String, Object> customer = generateRandomCustomer(orderRandom, synthetic.customerId());
         order.put("customer", customer);
         order.put("contact_email", customer.get("email"));
         
         List<Map<String, Object>> lineItems = List.of(
-            generateRandomLineItem(quantity, unitPrice)
+            generateRandomLineItem(orderRandom, synthetic)
         );
         order.put("line_items", lineItems);
         
         return order;
     }
 
-    private int pickRandomOrderQuantity() {
-        int[] quantities = {1, 1, 2, 2, 3, 3, 4, 5, 5, 6, 7, 8, 10, 12, 15, 18, 20, 25, 30, 40};
-        return quantities[random.nextInt(quantities.length)];
-    }
-
-    private String pickRandomStatus() {
+    private String pickRandomStatus(Random orderRandom) {
         String[] statuses = {"paid", "paid", "paid", "pending", "refunded"};
-        return statuses[random.nextInt(statuses.length)];
+        return statuses[orderRandom.nextInt(statuses.length)];
     }
 
-    private String pickRandomFulfillmentStatus() {
+    private String pickRandomFulfillmentStatus(Random orderRandom) {
         String[] statuses = {"fulfilled", "fulfilled", "partial", null, null};
-        return statuses[random.nextInt(statuses.length)];
+        return statuses[orderRandom.nextInt(statuses.length)];
     }
 
-    private Map<String, Object> generateRandomCustomer() {
+    private Map<String, Object> generateRandomCustomer(Random orderRandom, long customerId) {
         Map<String, Object> customer = new HashMap<>();
-        customer.put("id", 1000000000L + random.nextInt(1000000));
-        customer.put("email", "customer" + random.nextInt(1000) + "@example.com");
-        customer.put("first_name", pickRandomFirstName());
-        customer.put("last_name", pickRandomLastName());
-        customer.put("orders_count", random.nextInt(20) + 1);
-        customer.put("total_spent", String.format("%.2f", 100 + random.nextDouble() * 500));
+        customer.put("id", customerId);
+        customer.put("email", "customer" + (customerId % 100000) + "@example.com");
+        customer.put("first_name", pickRandomFirstName(orderRandom));
+        customer.put("last_name", pickRandomLastName(orderRandom));
+        customer.put("orders_count", orderRandom.nextInt(20) + 1);
+        customer.put("total_spent", String.format("%.2f", 100 + orderRandom.nextDouble() * 500));
         customer.put("verified_email", true);
-        customer.put("phone", "+1" + (200 + random.nextInt(799)) + random.nextInt(9000000));
+        customer.put("phone", "+1" + (200 + orderRandom.nextInt(799)) + orderRandom.nextInt(9000000));
         return customer;
     }
 
-    private String pickRandomFirstName() {
+    private String pickRandomFirstName(Random orderRandom) {
         String[] names = {"John", "Jane", "Michael", "Sarah", "David", "Emily", "James", "Lisa", 
                          "Robert", "Maria", "William", "Jennifer", "Richard", "Linda", "Thomas", 
                          "Patricia", "Daniel", "Nancy", "Matthew", "Barbara"};
-        return names[random.nextInt(names.length)];
+        return names[orderRandom.nextInt(names.length)];
     }
 
-    private String pickRandomLastName() {
+    private String pickRandomLastName(Random orderRandom) {
         String[] names = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", 
                          "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", 
                          "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin"};
-        return names[random.nextInt(names.length)];
+        return names[orderRandom.nextInt(names.length)];
     }
 
-    private Map<String, Object> generateRandomLineItem(int quantity, double unitPrice) {
+    private Map<String, Object> generateRandomLineItem(Random orderRandom, SyntheticOrder synthetic) {
         Map<String, Object> item = new HashMap<>();
-        item.put("id", 2000000000L + random.nextInt(1000000));
-        item.put("product_id", 3000000000L + random.nextInt(1000000));
-        item.put("variant_id", 4000000000L + random.nextInt(1000000));
-        item.put("name", "Product Name");
+        item.put("id", 2000000000L + orderRandom.nextInt(1000000));
+        item.put("product_id", 3000000000L + Math.floorMod(synthetic.sku().hashCode(), 1000000));
+        item.put("variant_id", 4000000000L + Math.floorMod(synthetic.sku().hashCode(), 1000000));
+        item.put("name", synthetic.productName());
         item.put("variant_title", "Default Variant");
-        item.put("sku", "SKU-00" + (random.nextInt(5) + 1));
+        item.put("sku", synthetic.sku());
         item.put("vendor", "Test Vendor");
-        item.put("quantity", quantity);
-        item.put("price", String.format("%.2f", unitPrice));
-        item.put("grams", 500 + random.nextInt(1500));
+        item.put("quantity", synthetic.quantity());
+        item.put("price", String.format("%.2f", synthetic.unitPrice().doubleValue()));
+        item.put("grams", 500 + orderRandom.nextInt(1500));
         item.put("requires_shipping", true);
         item.put("taxable", true);
         item.put("gift_card", null);
-        item.put("title", "Product Name - Default Variant");
+        item.put("title", synthetic.productName() + " - Default Variant");
         return item;
     }
 
@@ -0,0 +1,60 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Server-sent product deltas for open dashboards. Changes are collected and pushed once per flush-interval;
+ * idle streams get a heartbeat comment so proxies keep them open.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "product-updates")
+public class ProductUpdatesConfig {
+    private boolean enabled = true;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private Duration heartbeat = Duration.ofSeconds(15);
+    private Duration streamTimeout = Duration.ofMinutes(30);
+    private int maxSubscribers = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+}
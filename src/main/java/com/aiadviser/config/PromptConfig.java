@@ -0,0 +1,26 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Active prompt template versions. Each template maps versions to weights; with more than one
+ * version a SKU is assigned one by hash, so it keeps the same version while the weights stay put.
+ * Templates not listed use v1. Templates are read from classpath:prompts/{template}/{version}.txt.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "prompts")
+public class PromptConfig {
+    private Map<String, Map<String, Integer>> versions = new LinkedHashMap<>();
+
+    public Map<String, Map<String, Integer>> getVersions() {
+        return versions;
+    }
+
+    public void setVersions(Map<String, Map<String, Integer>> versions) {
+        this.versions = versions;
+    }
+}
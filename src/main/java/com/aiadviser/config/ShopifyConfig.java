@@ -11,6 +11,7 @@ public class ShopifyConfig {
     private String apiSecret;
     private String storeName;
     private String apiVersion;
+    private OutboundHttpProperties http = new OutboundHttpProperties();
 
     public String getBaseUrl() {
         return baseUrl;
@@ -51,4 +52,12 @@ public class ShopifyConfig {
     public void setApiVersion(String apiVersion) {
         this.apiVersion = apiVersion;
     }
+
+    public OutboundHttpProperties getHttp() {
+        return http;
+    }
+
+    public void setHttp(OutboundHttpProperties http) {
+        this.http = http;
+    }
 }
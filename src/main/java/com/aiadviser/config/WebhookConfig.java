@@ -0,0 +1,71 @@
+package com.aiadviser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Shopify order webhooks. Verified orders are stored in the order inbox before they are acknowledged and
+ * ingested by a worker; once queue-capacity orders are pending the webhook is refused so Shopify redelivers
+ * it later. A failed ingest is retried after retry-backoff, doubling up to max-retry-backoff.
+ * The sales aggregates are seeded once with the orders of the last seed-days days before webhooks take over.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webhooks.shopify")
+public class WebhookConfig {
+    private boolean enabled = true;
+    private int queueCapacity = 1000;
+    private Duration retryAfter = Duration.ofSeconds(30);
+    private int seedDays = 30;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public int getSeedDays() {
+        return seedDays;
+    }
+
+    public void setSeedDays(int seedDays) {
+        this.seedDays = seedDays;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public Duration getMaxRetryBackoff() {
+        return maxRetryBackoff;
+    }
+
+    public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+}
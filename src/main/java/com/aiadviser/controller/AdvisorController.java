@@ -1,98 +1,259 @@
 package com.aiadviser.controller;
 
 import com.aiadviser.model.*;
-import com.aiadviser.repository.ChatSessionRepository;
 import com.aiadviser.repository.ProductRepository;
+import com.aiadviser.config.AdviceJobConfig;
+import com.aiadviser.service.AdviceBatchService;
+import com.aiadviser.service.AdviceJobService;
+import com.aiadviser.service.AdviceService;
+import com.aiadviser.service.ChatSessionService;
 import com.aiadviser.service.ClaudeService;
-import com.aiadviser.service.DataAggregatorService;
-import com.aiadviser.service.FinancialForecastService;
+import com.aiadviser.service.DataSyncService;
+import com.aiadviser.service.PortfolioMetricsService;
+import com.aiadviser.service.ProductUpdateService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api")
 public class AdvisorController {
 
-    private final DataAggregatorService dataAggregatorService;
+    private static final Logger log = LoggerFactory.getLogger(AdvisorController.class);
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final ClaudeService claudeService;
     private final ProductRepository productRepository;
-    private final ChatSessionRepository chatSessionRepository;
-    private final FinancialForecastService financialForecastService;
+    private final ChatSessionService chatSessionService;
+    private final AdviceService adviceService;
     private final ObjectMapper objectMapper;
     private final com.aiadviser.service.ProductSummaryService productSummaryService;
+    private final PortfolioMetricsService portfolioMetricsService;
+    private final DataSyncService dataSyncService;
+    private final AdviceJobService adviceJobService;
+    private final AdviceJobConfig adviceJobConfig;
+    private final AdviceBatchService adviceBatchService;
+    private final ProductUpdateService productUpdateService;
 
     public AdvisorController(
-            DataAggregatorService dataAggregatorService,
             ClaudeService claudeService,
             ProductRepository productRepository,
-            ChatSessionRepository chatSessionRepository,
-            FinancialForecastService financialForecastService,
+            ChatSessionService chatSessionService,
+            AdviceService adviceService,
             ObjectMapper objectMapper,
-            com.aiadviser.service.ProductSummaryService productSummaryService
+            com.aiadviser.service.ProductSummaryService productSummaryService,
+            PortfolioMetricsService portfolioMetricsService,
+            DataSyncService dataSyncService,
+            AdviceJobService adviceJobService,
+            AdviceJobConfig adviceJobConfig,
+            AdviceBatchService adviceBatchService,
+            ProductUpdateService productUpdateService
     ) {
-        this.dataAggregatorService = dataAggregatorService;
         this.claudeService = claudeService;
         this.productRepository = productRepository;
-        this.chatSessionRepository = chatSessionRepository;
-        this.financialForecastService = financialForecastService;
+        this.chatSessionService = chatSessionService;
+        this.adviceService = adviceService;
         this.objectMapper = objectMapper;
         this.productSummaryService = productSummaryService;
+        this.portfolioMetricsService = portfolioMetricsService;
+        this.dataSyncService = dataSyncService;
+        this.adviceJobService = adviceJobService;
+        this.adviceJobConfig = adviceJobConfig;
+        this.adviceBatchService = adviceBatchService;
+        this.productUpdateService = productUpdateService;
     }
 
     @PostMapping("/advise/{sku}")
     public ResponseEntity<AdviceResponse> getAdvice(@PathVariable String sku) {
         try {
-            LLMInputData aggregatedData = dataAggregatorService.aggregateDataForLLM(sku);
+            return ResponseEntity.ok(adviceService.getAdvice(sku));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            Map<String, Object> recommendations = claudeService.analyzeProductData(aggregatedData);
+    /**
+     * Queues advice as a job and returns immediately with its id; the result is collected from
+     * /api/advise/jobs/{id}. 429 with Retry-After when the job queue is full.
+     */
+    @PostMapping("/advise/{sku}/jobs")
+    public ResponseEntity<AdviceJob> submitAdviceJob(@PathVariable String sku) {
+        if (!adviceJobConfig.isEnabled() || productRepository.findBySku(sku).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return adviceJobService.submit(sku)
+            .map(job -> ResponseEntity.accepted()
+                .location(URI.create("/api/advise/jobs/" + job.id()))
+                .body(job))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(adviceJobConfig.getRetryAfter().toSeconds()))
+                .build());
+    }
 
-            int daysUntilStockout = extractIntValue(recommendations, "daysUntilStockout", 30);
-            int suggestedOrderQuantity = extractIntValue(recommendations, "suggestedOrderQuantity", 0);
+    /**
+     * Current state of an advice job. With wait (seconds), the request is held (without a servlet thread)
+     * until the job finishes or the wait, capped at advice.jobs.max-wait, runs out.
+     */
+    @GetMapping("/advise/jobs/{id}")
+    public CompletableFuture<ResponseEntity<AdviceJob>> getAdviceJob(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") long wait
+    ) {
+        long waitSeconds = Math.max(0, Math.min(wait, adviceJobConfig.getMaxWait().toSeconds()));
+        return adviceJobService.awaitCompletion(id, Duration.ofSeconds(waitSeconds))
+            .map(result -> result.thenApply(ResponseEntity::ok))
+            .orElseGet(() -> CompletableFuture.completedFuture(ResponseEntity.notFound().build()));
+    }
 
-            FinancialMetrics financialMetrics = financialForecastService.calculateFinancialMetrics(
-                aggregatedData,
-                daysUntilStockout,
-                suggestedOrderQuantity
-            );
+    /**
+     * Server-sent events for an advice job: a "status" event while it is queued or running, then the
+     * finished job as a "result" event, after which the stream closes
+     */
+    @GetMapping(path = "/advise/jobs/{id}/events", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> streamAdviceJob(@PathVariable String id) {
+        AdviceJob current = adviceJobService.find(id).orElse(null);
+        if (current == null) {
+            return ResponseEntity.notFound().build();
+        }
 
-            String analysis = String.format(
-                "Analysis for %s (%s) - Current stock: %d units, Lead time: %d days",
-                aggregatedData.productName(),
-                aggregatedData.sku(),
-                aggregatedData.currentStock().quantity(),
-                aggregatedData.leadTimeDays()
-            );
+        SseEmitter emitter = new SseEmitter(adviceJobConfig.getStreamTimeout().toMillis());
+        try {
+            if (current.isDone()) {
+                emitter.send(SseEmitter.event().name("result").data(current));
+                emitter.complete();
+                return ResponseEntity.ok(emitter);
+            }
+            emitter.send(SseEmitter.event().name("status").data(current));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return ResponseEntity.ok(emitter);
+        }
 
-            Integer ttlHours = extractIntValue(recommendations, "ttlHours", 24);
+        adviceJobService.awaitCompletion(id, adviceJobConfig.getStreamTimeout())
+            .orElseGet(() -> CompletableFuture.completedFuture(current))
+            .thenAccept(job -> {
+                try {
+                    if (job.isDone()) {
+                        emitter.send(SseEmitter.event().name("result").data(job));
+                    }
+                    emitter.complete();
+                } catch (IOException e) {
+                    log.debug("Advice job stream {} closed by client: {}", id, e.getMessage());
+                    emitter.completeWithError(e);
+                }
+            });
+        return ResponseEntity.ok(emitter);
+    }
 
-            AdviceResponse response = new AdviceResponse(
-                sku,
-                analysis,
-                recommendations,
-                financialMetrics,
-                LocalDateTime.now().toString(),
-                ttlHours
-            );
+    /**
+     * Advice computed for the SKU by the most recent nightly run, served without calling any upstream
+     */
+    @GetMapping("/advise/{sku}/nightly")
+    public ResponseEntity<AdviceResponse> getNightlyAdvice(@PathVariable String sku) {
+        return adviceBatchService.findResult(sku)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-            return ResponseEntity.ok(response);
+    /**
+     * Starts (or resumes) today's nightly advice run in the background; 409 while one is already running here
+     * or once today's run has completed or expired
+     */
+    @PostMapping("/advice-runs")
+    public ResponseEntity<Void> startAdviceRun() {
+        if (!adviceBatchService.trigger(LocalDate.now())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/advice-runs/latest")).build();
+    }
 
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+    /**
+     * Progress of the most recent nightly advice run, including its throughput in SKUs per second
+     */
+    @GetMapping("/advice-runs/latest")
+    public ResponseEntity<AdviceBatchRun> getLatestAdviceRun() {
+        return adviceBatchService.findLatestRun()
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Server-sent "deltas" events with the current stock, monthly sales, profit and advice time of SKUs
+     * that changed, so open dashboards patch rows instead of reloading pages. 503 when too many streams are open.
+     */
+    @GetMapping(path = "/products/updates", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> streamProductUpdates(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return productUpdateService.subscribe(lastEventId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<ProductPage> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "sku") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean lowStock,
+            @RequestParam(defaultValue = "50") int lowStockThreshold,
+            @RequestParam(defaultValue = "false") boolean negativeProfit,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest
+    ) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+            ProductQuery query = new ProductQuery(
+                cursor,
+                limit,
+                ProductSort.fromField(sort),
+                "desc".equalsIgnoreCase(direction),
+                lowStock,
+                lowStockThreshold,
+                negativeProfit,
+                fields
+            );
+            String etag = productSummaryService.pageETag(query);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(productSummaryService.getProductPage(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
-    @GetMapping("/products")
-    public ResponseEntity<List<ProductSummary>> getAllProducts() {
+    @GetMapping("/portfolio/metrics")
+    public ResponseEntity<PortfolioMetrics> getPortfolioMetrics(@RequestParam(defaultValue = "10") int top) {
         try {
-            List<ProductSummary> products = productSummaryService.getAllProductSummaries();
-            return ResponseEntity.ok(products);
+            return ResponseEntity.ok(portfolioMetricsService.getPortfolioMetrics(top));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -101,18 +262,19 @@ public class AdvisorController {
     @PostMapping("/chat")
     public ResponseEntity<ChatResponse> chat(@RequestBody ChatRequest chatRequest) {
         try {
-            LLMInputData aggregatedData = dataAggregatorService.aggregateDataForLLM(chatRequest.sku());
+            LLMInputData aggregatedData = chatSessionService.chatInput(chatRequest.sku());
             
-            String aiResponse = claudeService.sendChatMessage(
+            LLMReply reply = claudeService.sendChatMessage(
                 chatRequest.sku(),
                 chatRequest.messages(),
                 aggregatedData
             );
 
             ChatResponse response = new ChatResponse(
-                aiResponse,
+                reply.text(),
                 "assistant",
-                LocalDateTime.now().toString()
+                LocalDateTime.now().toString(),
+                reply.promptVersion()
             );
 
             return ResponseEntity.ok(response);
@@ -125,20 +287,30 @@ public class AdvisorController {
     }
 
     @GetMapping("/chat/session/{sku}")
-    public ResponseEntity<Map<String, Object>> getChatSession(@PathVariable String sku) {
+    public ResponseEntity<Map<String, Object>> getChatSession(@PathVariable String sku, WebRequest webRequest) {
         try {
-            var session = chatSessionRepository.findBySku(sku);
+            String etag = "W/\"chat-" + chatSessionService.findVersionTag(sku).orElse("none") + "\"";
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            var session = chatSessionService.findBySku(sku);
             if (session.isPresent()) {
                 List<ChatMessage> messages = objectMapper.readValue(
                     session.get().sessionData(),
                     objectMapper.getTypeFactory().constructCollectionType(List.class, ChatMessage.class)
                 );
-                return ResponseEntity.ok(Map.of(
-                    "messages", messages,
-                    "expiresAt", session.get().expiresAt().toString()
-                ));
+                return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(etag)
+                    .body(Map.of(
+                        "messages", messages,
+                        "expiresAt", session.get().expiresAt().toString()
+                    ));
             }
-            return ResponseEntity.ok(Map.of("messages", List.of()));
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(Map.of("messages", List.of()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -150,7 +322,7 @@ public class AdvisorController {
             String sessionData = objectMapper.writeValueAsString(request.messages());
             LocalDateTime expiresAt = LocalDateTime.now().plusHours(request.ttlHours() != null ? request.ttlHours() : 24);
             
-            chatSessionRepository.save(request.sku(), sessionData, expiresAt);
+            chatSessionService.save(request.sku(), sessionData, expiresAt);
             
             return ResponseEntity.ok(Map.of(
                 "status", "saved",
@@ -164,7 +336,7 @@ public class AdvisorController {
     @DeleteMapping("/chat/session/{sku}")
     public ResponseEntity<Map<String, String>> deleteChatSession(@PathVariable String sku) {
         try {
-            chatSessionRepository.deleteBySku(sku);
+            chatSessionService.deleteBySku(sku);
             return ResponseEntity.ok(Map.of("status", "deleted"));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -180,18 +352,16 @@ public class AdvisorController {
         ));
     }
 
-    private int extractIntValue(Map<String, Object> map, String key, int defaultValue) {
-        Object value = map.get(key);
-        if (value == null) {
-            return defaultValue;
-        }
-        if (value instanceof Number) {
-            return ((Number) value).intValue();
-        }
-        try {
-            return Integer.parseInt(value.toString());
-        } catch (NumberFormatException e) {
-            return defaultValue;
+    /**
+     * Reports background sync progress. The API serves existing product_data while syncing,
+     * so only the pre-startup state is reported as not ready.
+     */
+    @GetMapping("/readiness")
+    public ResponseEntity<SyncStatus> readiness() {
+        SyncStatus status = dataSyncService.getSyncStatus();
+        if (status.state() == SyncStatus.State.STARTING) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(status);
         }
+        return ResponseEntity.ok(status);
     }
 }
@@ -0,0 +1,49 @@
+package com.aiadviser.controller;
+
+import com.aiadviser.model.SalesGrain;
+import com.aiadviser.model.SalesSeries;
+import com.aiadviser.repository.ProductRepository;
+import com.aiadviser.service.SalesHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final SalesHistoryService salesHistoryService;
+    private final ProductRepository productRepository;
+
+    public SalesController(SalesHistoryService salesHistoryService, ProductRepository productRepository) {
+        this.salesHistoryService = salesHistoryService;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Sales of a SKU per day or week between from and to (ISO dates, inclusive).
+     * Defaults to the 90 days ending today.
+     */
+    @GetMapping("/{sku}")
+    public ResponseEntity<SalesSeries> getSales(
+            @PathVariable String sku,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String grain
+    ) {
+        if (productRepository.findBySku(sku).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        try {
+            return ResponseEntity.ok(salesHistoryService.series(sku, start, end, SalesGrain.fromParam(grain)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
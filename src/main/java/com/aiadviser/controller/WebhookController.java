@@ -0,0 +1,87 @@
+package com.aiadviser.controller;
+
+import com.aiadviser.config.WebhookConfig;
+import com.aiadviser.model.shopify.ShopifyOrder;
+import com.aiadviser.webhook.ShopifyOrderQueue;
+import com.aiadviser.webhook.ShopifyWebhookVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/webhooks")
+public class WebhookController {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookController.class);
+
+    private final ShopifyWebhookVerifier verifier;
+    private final ShopifyOrderQueue orderQueue;
+    private final WebhookConfig config;
+    private final ObjectMapper objectMapper;
+
+    public WebhookController(
+            ShopifyWebhookVerifier verifier,
+            ShopifyOrderQueue orderQueue,
+            WebhookConfig config,
+            ObjectMapper objectMapper
+    ) {
+        this.verifier = verifier;
+        this.orderQueue = orderQueue;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Shopify orders/create and orders/paid webhooks. The body is verified against the raw bytes
+     * before parsing, then stored in the order inbox; ingestion happens after the response. An order that
+     * could not be stored is answered with 503 so Shopify redelivers it.
+     */
+    @PostMapping("/shopify/orders")
+    public ResponseEntity<Map<String, String>> receiveShopifyOrder(
+            @RequestBody byte[] body,
+            @RequestHeader(value = "X-Shopify-Hmac-Sha256", required = false) String hmac
+    ) {
+        if (!config.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!verifier.isValid(body, hmac)) {
+            log.warn("Rejected Shopify webhook with invalid HMAC");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid HMAC"));
+        }
+
+        ShopifyOrder order;
+        try {
+            order = objectMapper.readValue(body, ShopifyOrder.class);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unreadable order payload"));
+        }
+        if (order.id() == null || order.createdAt() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Order id and created_at are required"));
+        }
+
+        boolean accepted;
+        try {
+            accepted = orderQueue.offer(order, new String(body, StandardCharsets.UTF_8));
+        } catch (DataAccessException e) {
+            log.error("Could not store Shopify order {}: {}", order.id(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfter().toSeconds()))
+                .body(Map.of("error", "Could not store order"));
+        }
+        if (!accepted) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfter().toSeconds()))
+                .body(Map.of("error", "Ingestion queue full"));
+        }
+        return ResponseEntity.ok(Map.of("status", "queued"));
+    }
+}
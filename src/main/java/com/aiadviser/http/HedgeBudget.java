@@ -0,0 +1,42 @@
+package com.aiadviser.http;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket capping hedges to a fraction of calls: every call deposits {@code ratio} of a token
+ * and every hedge spends a whole one, so hedges never exceed that share of traffic beyond a small burst.
+ */
+class HedgeBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+
+    HedgeBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = Math.max(1, maxTokens);
+    }
+
+    void deposit() {
+        lock.lock();
+        try {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
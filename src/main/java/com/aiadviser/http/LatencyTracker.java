@@ -0,0 +1,52 @@
+package com.aiadviser.http;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sliding window of the most recent call latencies. The percentile is recomputed every few
+ * samples rather than on every read, so asking for the hedge delay costs a volatile read.
+ */
+class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(int window, double percentile, int minSamples) {
+        this.samples = new long[window];
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, window);
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count >= minSamples && ++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                percentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The tracked percentile in nanoseconds, or -1 until enough samples have been seen
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,168 @@
+package com.aiadviser.http;
+
+import com.aiadviser.config.OutboundHttpProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * WebClient for one upstream service, backed by its own connection pool.
+ * Calls run under a deadline covering all attempts; idempotent calls are retried with
+ * jittered exponential backoff on connection errors, 429 and 5xx responses.
+ * <p>
+ * Calls given a hedge key are hedged when http.hedge is enabled: latencies are tracked per key, and
+ * once the first attempt has run past the tracked percentile a second attempt is started; the first
+ * signal from either wins and the other is cancelled. A failed hedge is ignored, so errors always
+ * come from the first attempt. Hedges share one budget per client, capped at hedge.max-ratio of calls.
+ */
+public class OutboundHttpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttpClient.class);
+
+    private final String name;
+    private final WebClient webClient;
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+    private final HedgeBudget hedgeBudget;
+
+    OutboundHttpClient(String name, WebClient webClient, OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.webClient = webClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retries = Counter.builder("outbound.http.retries")
+            .tag("service", name)
+            .register(meterRegistry);
+        this.hedgeBudget = new HedgeBudget(properties.getHedge().getMaxRatio(), 10);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public <T> T execute(Function<WebClient, Mono<T>> call, boolean idempotent) {
+        return execute(call, idempotent, properties.getDeadline());
+    }
+
+    public <T> T execute(Function<WebClient, Mono<T>> call, boolean idempotent, String hedgeKey) {
+        return execute(call, idempotent, properties.getDeadline(), hedgeKey);
+    }
+
+    public <T> T execute(Function<WebClient, Mono<T>> call, boolean idempotent, Duration deadline) {
+        return execute(call, idempotent, deadline, null);
+    }
+
+    /**
+     * @param hedgeKey groups calls with similar latency for hedging; null never hedges
+     */
+    public <T> T execute(Function<WebClient, Mono<T>> call, boolean idempotent, Duration deadline, String hedgeKey) {
+        LatencyTracker tracker = hedgeKey != null && properties.getHedge().isEnabled() ? tracker(hedgeKey) : null;
+        Mono<T> request = tracker != null ? timedAttempt(call, tracker) : Mono.defer(() -> call.apply(webClient));
+        if (idempotent && properties.getMaxRetries() > 0) {
+            request = request.retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                .maxBackoff(properties.getRetryMaxBackoff())
+                .jitter(properties.getRetryJitter())
+                .filter(OutboundHttpClient::isRetryable)
+                .doBeforeRetry(signal -> {
+                    retries.increment();
+                    log.debug("Retrying {} call (attempt {}): {}",
+                        name, signal.totalRetries() + 2, signal.failure().getMessage());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        }
+        if (tracker != null) {
+            request = hedged(request, call, hedgeKey, tracker);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = request.timeout(deadline).block();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                outcome = "deadline";
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("outbound.http.calls")
+                .tag("service", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    private <T> Mono<T> hedged(Mono<T> primary, Function<WebClient, Mono<T>> call, String hedgeKey, LatencyTracker tracker) {
+        hedgeBudget.deposit();
+        long delayNanos = tracker.percentileNanos();
+        if (delayNanos < 0) {
+            return primary;
+        }
+        Duration delay = Duration.ofNanos(Math.max(delayNanos, properties.getHedge().getMinDelay().toNanos()));
+
+        Mono<T> hedge = Mono.delay(delay).flatMap(tick -> {
+            if (!hedgeBudget.tryAcquire()) {
+                countHedge(hedgeKey, "budget_exhausted");
+                return Mono.<T>never();
+            }
+            countHedge(hedgeKey, "sent");
+            return timedAttempt(call, tracker)
+                .doOnNext(value -> countHedge(hedgeKey, "won"))
+                .onErrorResume(error -> Mono.never());
+        });
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    /**
+     * One attempt, recording its latency on success. A cancelled attempt (the loser of a hedge)
+     * records its elapsed time as well, so slow responses stay visible in the percentile.
+     */
+    private <T> Mono<T> timedAttempt(Function<WebClient, Mono<T>> call, LatencyTracker tracker) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return call.apply(webClient)
+                .doOnSuccess(value -> tracker.record(System.nanoTime() - startedAt))
+                .doOnCancel(() -> tracker.record(System.nanoTime() - startedAt));
+        });
+    }
+
+    private LatencyTracker tracker(String hedgeKey) {
+        return latencyTrackers.computeIfAbsent(hedgeKey, key -> {
+            OutboundHttpProperties.Hedge hedge = properties.getHedge();
+            LatencyTracker tracker = new LatencyTracker(hedge.getWindow(), hedge.getPercentile(), hedge.getMinSamples());
+            meterRegistry.gauge("outbound.http.hedge.delay.ms",
+                Tags.of("service", name, "key", key),
+                tracker, t -> t.percentileNanos() / 1_000_000.0);
+            return tracker;
+        });
+    }
+
+    private void countHedge(String hedgeKey, String outcome) {
+        meterRegistry.counter("outbound.http.hedges", "service", name, "key", hedgeKey, "outcome", outcome).increment();
+    }
+
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return error instanceof WebClientRequestException;
+    }
+}
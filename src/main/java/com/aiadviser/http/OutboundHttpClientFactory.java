@@ -0,0 +1,77 @@
+package com.aiadviser.http;
+
+import com.aiadviser.config.OutboundHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Builds one named, pooled client per upstream. Each pool publishes the Reactor Netty
+ * reactor.netty.connection.provider.* gauges (active, idle, pending, max connections)
+ * tagged with the service name, so pool saturation shows up under /actuator/metrics.
+ */
+@Component
+public class OutboundHttpClientFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttpClientFactory.class);
+
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+    private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
+    public OutboundHttpClientFactory(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.webClientBuilder = webClientBuilder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public OutboundHttpClient create(String name, String baseUrl, OutboundHttpProperties properties) {
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+            .maxIdleTime(properties.getMaxIdleTime())
+            .maxLifeTime(properties.getMaxLifeTime())
+            .evictInBackground(properties.getEvictInBackground())
+            .metrics(true)
+            .build();
+        providers.add(provider);
+
+        HttpClient httpClient = HttpClient.create(provider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .keepAlive(true)
+            .compress(true)
+            .responseTimeout(properties.getResponseTimeout());
+        if (properties.isHttp2()) {
+            httpClient = baseUrl.startsWith("https")
+                ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        WebClient webClient = webClientBuilder.clone()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getMaxInMemorySize()))
+            .build();
+
+        log.info("Outbound HTTP client '{}' -> {} (max {} connections, deadline {}, http2 {})",
+            name, baseUrl, properties.getMaxConnections(), properties.getDeadline(), properties.isHttp2());
+        return new OutboundHttpClient(name, webClient, properties, meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,114 @@
+package com.aiadviser.lock;
+
+import com.aiadviser.config.JobLockConfig;
+import com.aiadviser.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job lock backed by leases in the job_leases table. The holder renews its lease every renew-interval
+ * while the job runs and releases it when done; if the holder dies the lease lapses after lease-ttl
+ * and the next node to try takes over. With job-locks.enabled=false every node runs every job.
+ */
+@Component
+public class JdbcJobLock implements JobLock {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcJobLock.class);
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JobLockConfig config;
+    private final MeterRegistry meterRegistry;
+    private final String owner;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("job-lease-renewal").daemon().factory());
+
+    public JdbcJobLock(JobLeaseRepository jobLeaseRepository, JobLockConfig config, MeterRegistry meterRegistry) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.owner = config.getNodeId() != null && !config.getNodeId().isBlank()
+            ? config.getNodeId()
+            : defaultNodeId();
+    }
+
+    @Override
+    public boolean runExclusively(String jobName, Runnable task) {
+        if (!config.isEnabled()) {
+            task.run();
+            return true;
+        }
+
+        long ttlMillis = config.getLeaseTtl().toMillis();
+        boolean acquired;
+        try {
+            acquired = jobLeaseRepository.tryAcquire(jobName, owner, ttlMillis);
+        } catch (DataAccessException e) {
+            log.warn("Could not acquire lease for job {}: {}", jobName, e.getMessage());
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.debug("Job {} is held by another node, skipping", jobName);
+            count(jobName, "skipped");
+            return false;
+        }
+
+        count(jobName, "acquired");
+        long renewMillis = config.getRenewInterval().toMillis();
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(
+            () -> renew(jobName, ttlMillis), renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        try {
+            task.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            try {
+                jobLeaseRepository.release(jobName, owner);
+            } catch (DataAccessException e) {
+                log.warn("Could not release lease for job {}, it will lapse after {}: {}",
+                    jobName, config.getLeaseTtl(), e.getMessage());
+            }
+        }
+    }
+
+    private void renew(String jobName, long ttlMillis) {
+        try {
+            if (!jobLeaseRepository.renew(jobName, owner, ttlMillis)) {
+                log.warn("Lease for job {} was taken over by another node while still running here", jobName);
+                count(jobName, "lost");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not renew lease for job {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    private void count(String jobName, String outcome) {
+        meterRegistry.counter("job_locks.runs", "job", jobName, "outcome", outcome).increment();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+}
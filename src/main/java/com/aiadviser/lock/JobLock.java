@@ -0,0 +1,13 @@
+package com.aiadviser.lock;
+
+/**
+ * Cluster-wide mutual exclusion for background jobs, so a job runs on one node at a time
+ */
+public interface JobLock {
+
+    /**
+     * Runs the task if this node can take the job's lease, holding it until the task returns.
+     * Returns false without running the task while another node holds the job.
+     */
+    boolean runExclusively(String jobName, Runnable task);
+}
@@ -0,0 +1,116 @@
+package com.aiadviser.mock;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Writes a synthetic dataset as newline-delimited JSON: catalog.ndjson (one SKU with its
+ * per-warehouse stock on the last day per line) and orders.ndjson (one order per line).
+ * Records are streamed straight to disk, so datasets far larger than the heap can be exported.
+ * <p>
+ * Usage: {@code SyntheticDataExport --seed=42 --skus=1000 --from=2024-01-01 --to=2024-12-31 --demand-scale=1 --out=target/synthetic}
+ */
+public final class SyntheticDataExport {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private SyntheticDataExport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int skus = Integer.parseInt(options.getOrDefault("skus", "100"));
+        double demandScale = Double.parseDouble(options.getOrDefault("demand-scale", "1"));
+        LocalDate to = LocalDate.parse(options.getOrDefault("to", LocalDate.now().toString()));
+        LocalDate from = LocalDate.parse(options.getOrDefault("from", to.minusDays(89).toString()));
+        Path out = Path.of(options.getOrDefault("out", "target/synthetic"));
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, skus, demandScale);
+        Files.createDirectories(out);
+
+        long startedAt = System.nanoTime();
+        long catalogLines = writeCatalog(generator, to, out.resolve("catalog.ndjson"));
+        long orderLines = writeOrders(generator.orders(from, to), out.resolve("orders.ndjson"));
+
+        System.out.printf("Wrote %d SKUs and %d orders (%s to %s, seed %d) to %s in %d ms%n",
+            catalogLines, orderLines, from, to, seed, out.toAbsolutePath(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static long writeCatalog(SyntheticDataGenerator generator, LocalDate day, Path target) throws IOException {
+        AtomicLong count = new AtomicLong();
+        try (JsonGenerator json = JSON.createGenerator(target.toFile(), JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            generator.catalog().forEach(sku -> {
+                int stock = generator.stockOn(sku, day);
+                int primary = (int) (stock * sku.primaryWarehouseShare());
+                try {
+                    json.writeStartObject();
+                    json.writeStringField("sku", sku.sku());
+                    json.writeStringField("product_id", sku.productId());
+                    json.writeStringField("name", sku.name());
+                    json.writeStringField("manufacturer", sku.manufacturer());
+                    json.writeStringField("ean", sku.ean());
+                    json.writeNumberField("retail_price", sku.retailPrice());
+                    json.writeNumberField("cogs", sku.cogs());
+                    json.writeNumberField("lead_time_days", sku.leadTimeDays());
+                    json.writeNumberField("base_daily_demand", sku.baseDailyDemand());
+                    json.writeNumberField("trend_per_year", sku.trendPerYear());
+                    json.writeObjectFieldStart("stock");
+                    json.writeNumberField("bl_1234", primary);
+                    json.writeNumberField("bl_5678", stock - primary);
+                    json.writeEndObject();
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count.incrementAndGet();
+            });
+        }
+        return count.get();
+    }
+
+    private static long writeOrders(Stream<SyntheticOrder> orders, Path target) throws IOException {
+        AtomicLong count = new AtomicLong();
+        try (JsonGenerator json = JSON.createGenerator(target.toFile(), JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            orders.forEach(order -> {
+                try {
+                    json.writeStartObject();
+                    json.writeNumberField("id", order.id());
+                    json.writeNumberField("order_number", order.orderNumber());
+                    json.writeStringField("created_at", order.createdAt().toString());
+                    json.writeStringField("sku", order.sku());
+                    json.writeNumberField("quantity", order.quantity());
+                    json.writeNumberField("unit_price", order.unitPrice());
+                    json.writeNumberField("customer_id", order.customerId());
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count.incrementAndGet();
+            });
+        }
+        return count.get();
+    }
+}
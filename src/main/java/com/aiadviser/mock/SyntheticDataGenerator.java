@@ -0,0 +1,216 @@
+package com.aiadviser.mock;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic synthetic catalog, stock and order data for a seed and catalog size.
+ * <p>
+ * Nothing is precomputed or stored: each SKU, each SKU-day's demand and each order is derived
+ * from a hash of (seed, SKU code, day), so any SKU or date range can be generated independently
+ * and in any order with identical results, and order streams of any length run in constant memory.
+ */
+public class SyntheticDataGenerator {
+
+    private static final LocalDate TREND_ANCHOR = LocalDate.of(2024, 1, 1);
+    private static final String[] DEMO_NAMES = {
+        "Premium Wireless Headphones",
+        "Smart Watch Pro",
+        "USB-C Cable 2m",
+        "Bluetooth Speaker",
+        "Laptop Stand Aluminum"
+    };
+    private static final String[] ADJECTIVES = {
+        "Premium", "Compact", "Wireless", "Smart", "Ergonomic", "Portable", "Ultra", "Pro",
+        "Classic", "Rugged", "Slim", "Foldable", "Rechargeable", "Modular", "Digital", "Eco"
+    };
+    private static final String[] NOUNS = {
+        "Headphones", "Speaker", "Keyboard", "Mouse", "Charger", "Power Bank", "Webcam", "Monitor Arm",
+        "Desk Lamp", "Router", "Smart Plug", "Earbuds", "Tablet Case", "Phone Stand", "USB Hub", "Microphone"
+    };
+    private static final String[] MANUFACTURERS = {
+        "TechCorp", "InnovateTech", "GlobalElectronics", "NextGen Industries", "Quantum Devices",
+        "Precision Manufacturing", "Elite Electronics", "SmartTech Inc", "CoreTech", "VisionTech"
+    };
+
+    private final long seed;
+    private final int catalogSize;
+    private final double demandScale;
+
+    public SyntheticDataGenerator(long seed, int catalogSize) {
+        this(seed, catalogSize, 1.0);
+    }
+
+    /**
+     * @param demandScale multiplier on every SKU's base daily demand, to grow order volume without changing the catalog
+     */
+    public SyntheticDataGenerator(long seed, int catalogSize, double demandScale) {
+        this.seed = seed;
+        this.catalogSize = catalogSize;
+        this.demandScale = demandScale;
+    }
+
+    public int catalogSize() {
+        return catalogSize;
+    }
+
+    public static String skuCode(int index) {
+        return String.format("SKU-%03d", index + 1);
+    }
+
+    public Stream<SyntheticSku> catalog() {
+        return IntStream.range(0, catalogSize).mapToObj(index -> sku(skuCode(index)));
+    }
+
+    /**
+     * Profile for any SKU code, in or outside the generated catalog
+     */
+    public SyntheticSku sku(String code) {
+        SplittableRandom random = new SplittableRandom(mix(seed, code.hashCode()));
+        int index = catalogIndex(code);
+
+        String name = index >= 0 && index < DEMO_NAMES.length
+            ? DEMO_NAMES[index]
+            : pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + code.substring(code.lastIndexOf('-') + 1);
+        BigDecimal retailPrice = BigDecimal.valueOf(9.99 + random.nextInt(30) * 10);
+        BigDecimal cogs = retailPrice.multiply(BigDecimal.valueOf(0.35 + random.nextDouble() * 0.4))
+            .setScale(2, RoundingMode.HALF_UP);
+        double baseDailyDemand = Math.exp(random.nextDouble(-0.5, 2.5)) * demandScale;
+        int leadTimeDays = 3 + random.nextInt(28);
+
+        return new SyntheticSku(
+            code,
+            String.valueOf(10000 + (index >= 0 ? index : Math.floorMod(code.hashCode(), 9_000_000))),
+            name,
+            pick(random, MANUFACTURERS),
+            "590" + String.format("%010d", random.nextLong(10_000_000_000L)),
+            retailPrice,
+            cogs,
+            leadTimeDays,
+            baseDailyDemand,
+            random.nextDouble(-0.3, 0.6),
+            random.nextDouble(0.0, 0.35),
+            random.nextDouble(0.0, 0.5),
+            random.nextDouble(0, 2 * Math.PI),
+            random.nextDouble(0.1, 0.5),
+            leadTimeDays + 7 + random.nextInt(30),
+            (int) Math.ceil(baseDailyDemand * (leadTimeDays + 14) * random.nextDouble(0.8, 2.0)) + 5,
+            random.nextDouble(0.55, 0.9),
+            "A-" + (char) ('A' + random.nextInt(10)) + (random.nextInt(20) + 1) + "-" + String.format("%02d", random.nextInt(30) + 1),
+            "B-" + (char) ('A' + random.nextInt(10)) + (random.nextInt(20) + 1) + "-" + String.format("%02d", random.nextInt(30) + 1)
+        );
+    }
+
+    /**
+     * Units demanded on a day, the sum of that SKU-day's order quantities
+     */
+    public int demand(SyntheticSku sku, LocalDate day) {
+        long epochDay = day.toEpochDay();
+        double years = (epochDay - TREND_ANCHOR.toEpochDay()) / 365.0;
+        double trend = Math.max(0.1, 1 + sku.trendPerYear() * years);
+        double weekly = 1 + sku.weeklyAmplitude() * (day.getDayOfWeek().getValue() >= 6 ? 1 : -0.4);
+        double yearly = 1 + sku.yearlyAmplitude() * Math.sin(2 * Math.PI * day.getDayOfYear() / 365.0 + sku.yearlyPhase());
+
+        SplittableRandom random = dayRandom(sku, epochDay);
+        double noise = Math.exp(sku.noise() * random.nextGaussian());
+        double expected = sku.baseDailyDemand() * trend * weekly * yearly * noise;
+
+        // Stochastic rounding keeps low-volume SKUs from always rounding to zero
+        int units = (int) expected;
+        return random.nextDouble() < expected - units ? units + 1 : units;
+    }
+
+    /**
+     * Stock on hand at the start of a day: each restock cycle starts at restockLevel and is drawn
+     * down by demand, bottoming out at zero until the next cycle.
+     */
+    public int stockOn(SyntheticSku sku, LocalDate day) {
+        long epochDay = day.toEpochDay();
+        long offset = Math.floorMod(sku.sku().hashCode(), sku.restockCycleDays());
+        long cycleStart = Math.floorDiv(epochDay + offset, sku.restockCycleDays()) * sku.restockCycleDays() - offset;
+
+        int stock = sku.restockLevel();
+        for (long d = cycleStart; d < epochDay && stock > 0; d++) {
+            stock -= demand(sku, LocalDate.ofEpochDay(d));
+        }
+        return Math.max(0, stock);
+    }
+
+    /**
+     * Orders for every catalog SKU from {@code to} back to {@code from} (inclusive), newest day first.
+     * Each SKU-day's demand is split into orders of one to four units.
+     */
+    public Stream<SyntheticOrder> orders(LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        return LongStream.range(0, Math.max(0, days))
+            .mapToObj(to::minusDays)
+            .flatMap(day -> catalog().flatMap(sku -> ordersFor(sku, day).stream()));
+    }
+
+    public List<SyntheticOrder> ordersFor(SyntheticSku sku, LocalDate day) {
+        int remaining = demand(sku, day);
+        List<SyntheticOrder> orders = new ArrayList<>();
+        SplittableRandom random = dayRandom(sku, ~day.toEpochDay());
+
+        while (remaining > 0) {
+            int quantity = Math.min(remaining, 1 + random.nextInt(4));
+            remaining -= quantity;
+            // 52 hash bits: about 1e-4 expected duplicates in a 1M-order dataset, and still below 2^53 so JSON clients keep the exact id
+            long id = 5_000_000_000L + (mix(seed, sku.sku().hashCode(), day.toEpochDay(), orders.size()) >>> 12);
+            BigDecimal discount = BigDecimal.valueOf(1 - random.nextInt(4) * 0.05);
+
+            orders.add(new SyntheticOrder(
+                id,
+                1000 + (id % 1_000_000),
+                sku.sku(),
+                sku.name(),
+                day.atTime(7 + random.nextInt(15), random.nextInt(60), random.nextInt(60)),
+                quantity,
+                sku.retailPrice().multiply(discount).setScale(2, RoundingMode.HALF_UP),
+                1_000_000_000L + random.nextInt(5_000_000)
+            ));
+        }
+        return orders;
+    }
+
+    private SplittableRandom dayRandom(SyntheticSku sku, long epochDay) {
+        return new SplittableRandom(mix(seed, sku.sku().hashCode(), epochDay));
+    }
+
+    private static int catalogIndex(String code) {
+        if (!code.startsWith("SKU-")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(code.substring(4)) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * SplitMix64 finalizer over the parts, so nearby inputs give unrelated seeds
+     */
+    static long mix(long... parts) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (long part : parts) {
+            h ^= part;
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+            h *= 0x94D049BB133111EBL;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+}
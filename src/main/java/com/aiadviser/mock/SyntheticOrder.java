@@ -0,0 +1,19 @@
+package com.aiadviser.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One synthetic single-line Shopify order
+ */
+public record SyntheticOrder(
+    long id,
+    long orderNumber,
+    String sku,
+    String productName,
+    LocalDateTime createdAt,
+    int quantity,
+    BigDecimal unitPrice,
+    long customerId
+) {
+}
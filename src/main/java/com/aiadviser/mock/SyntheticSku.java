@@ -0,0 +1,31 @@
+package com.aiadviser.mock;
+
+import java.math.BigDecimal;
+
+/**
+ * Stable identity and demand profile of one synthetic SKU. Every field is derived from the
+ * generator seed and the SKU code, so the same SKU looks the same in every run.
+ * Daily demand is baseDailyDemand * trend * weekly/yearly seasonality * noise.
+ */
+public record SyntheticSku(
+    String sku,
+    String productId,
+    String name,
+    String manufacturer,
+    String ean,
+    BigDecimal retailPrice,
+    BigDecimal cogs,
+    int leadTimeDays,
+    double baseDailyDemand,
+    double trendPerYear,
+    double weeklyAmplitude,
+    double yearlyAmplitude,
+    double yearlyPhase,
+    double noise,
+    int restockCycleDays,
+    int restockLevel,
+    double primaryWarehouseShare,
+    String primaryLocation,
+    String secondaryLocation
+) {
+}
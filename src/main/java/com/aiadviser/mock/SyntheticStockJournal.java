@@ -0,0 +1,92 @@
+package com.aiadviser.mock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Inventory journal for the mock Baselinker. Stock changes accrue at a fixed rate of wall-clock
+ * time and are generated lazily when the journal is read, from a random seeded like the catalog.
+ * Every change is also kept as a per-warehouse adjustment, so full product reads and the journal
+ * agree. Only the newest {@code retention} events are kept, like the real journal's limited history.
+ */
+public class SyntheticStockJournal {
+
+    public static final String[] WAREHOUSES = {"bl_1234", "bl_5678"};
+
+    private final SyntheticDataGenerator generator;
+    private final double eventsPerSecond;
+    private final int retention;
+    private final SplittableRandom random;
+    private final Deque<Event> events = new ArrayDeque<>();
+    private final Map<String, int[]> adjustments = new HashMap<>();
+    private long lastLogId;
+    private long generatedUntilMillis = System.currentTimeMillis();
+    private double carry;
+
+    public SyntheticStockJournal(SyntheticDataGenerator generator, long seed, double eventsPerSecond, int retention) {
+        this.generator = generator;
+        this.eventsPerSecond = eventsPerSecond;
+        this.retention = retention;
+        this.random = new SplittableRandom(SyntheticDataGenerator.mix(seed, 0x4A4F55524E414CL));
+    }
+
+    /**
+     * Events with a log id greater than lastLogId, oldest first, at most limit of them
+     */
+    public synchronized List<Event> eventsAfter(long lastLogId, int limit) {
+        advance();
+        List<Event> page = new ArrayList<>(limit);
+        for (Event event : events) {
+            if (event.logId() > lastLogId) {
+                page.add(event);
+                if (page.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Sum of journal changes so far for a SKU in one warehouse
+     */
+    public synchronized int adjustment(String sku, int warehouseIndex) {
+        advance();
+        int[] perWarehouse = adjustments.get(sku);
+        return perWarehouse != null ? perWarehouse[warehouseIndex] : 0;
+    }
+
+    private void advance() {
+        long now = System.currentTimeMillis();
+        if (generator.catalogSize() == 0 || eventsPerSecond <= 0) {
+            generatedUntilMillis = now;
+            return;
+        }
+
+        carry += (now - generatedUntilMillis) * eventsPerSecond / 1000.0;
+        generatedUntilMillis = now;
+        int due = (int) carry;
+        carry -= due;
+
+        for (int i = 0; i < due; i++) {
+            String sku = SyntheticDataGenerator.skuCode(random.nextInt(generator.catalogSize()));
+            int warehouseIndex = random.nextInt(WAREHOUSES.length);
+            // Mostly single-unit sales, with an occasional restock delivery
+            int change = random.nextDouble() < 0.05 ? 20 + random.nextInt(80) : -(1 + random.nextInt(3));
+
+            adjustments.computeIfAbsent(sku, key -> new int[WAREHOUSES.length])[warehouseIndex] += change;
+            events.addLast(new Event(++lastLogId, sku, WAREHOUSES[warehouseIndex], change, now / 1000));
+            if (events.size() > retention) {
+                events.removeFirst();
+            }
+        }
+    }
+
+    public record Event(long logId, String sku, String warehouseId, int quantityChange, long date) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.aiadviser.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One nightly advice run. lastSku is the checkpoint: every SKU up to it (in SKU order) has been processed.
+ * elapsedMillis only counts time spent processing, so the rate stays meaningful across resumes.
+ */
+public record AdviceBatchRun(
+    LocalDate runDate,
+    Status status,
+    String lastSku,
+    int processed,
+    int failed,
+    long elapsedMillis,
+    LocalDateTime startedAt,
+    LocalDateTime deadlineAt,
+    LocalDateTime completedAt
+) {
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        EXPIRED
+    }
+
+    @JsonProperty("skusPerSecond")
+    public double skusPerSecond() {
+        return elapsedMillis > 0 ? (processed + failed) * 1000.0 / elapsedMillis : 0;
+    }
+}
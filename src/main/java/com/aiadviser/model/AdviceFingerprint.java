@@ -0,0 +1,37 @@
+package com.aiadviser.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Compact feature vector of the inputs that drive an AI recommendation.
+ * Velocities are units sold per day over the trailing 7 and 30 days.
+ */
+public record AdviceFingerprint(
+    int stockQuantity,
+    BigDecimal velocity7d,
+    BigDecimal velocity30d,
+    BigDecimal cogs,
+    int leadTimeDays
+) {
+
+    public static AdviceFingerprint of(LLMInputData data, LocalDate today) {
+        return new AdviceFingerprint(
+            data.currentStock().quantity(),
+            velocity(data, today, 7),
+            velocity(data, today, 30),
+            data.cogs(),
+            data.leadTimeDays()
+        );
+    }
+
+    private static BigDecimal velocity(LLMInputData data, LocalDate today, int days) {
+        LocalDate from = today.minusDays(days);
+        int units = data.recentSales().stream()
+            .filter(sale -> sale.date().isAfter(from))
+            .mapToInt(SaleData::quantity)
+            .sum();
+        return BigDecimal.valueOf(units).divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,43 @@
+package com.aiadviser.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+
+public record AdviceJob(
+    String id,
+    String sku,
+    State state,
+    String submittedAt,
+    String startedAt,
+    String completedAt,
+    AdviceResponse result,
+    String error
+) {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public static AdviceJob queued(String id, String sku) {
+        return new AdviceJob(id, sku, State.QUEUED, LocalDateTime.now().toString(), null, null, null, null);
+    }
+
+    public AdviceJob running() {
+        return new AdviceJob(id, sku, State.RUNNING, submittedAt, LocalDateTime.now().toString(), null, null, null);
+    }
+
+    public AdviceJob succeeded(AdviceResponse advice) {
+        return new AdviceJob(id, sku, State.SUCCEEDED, submittedAt, startedAt, LocalDateTime.now().toString(), advice, null);
+    }
+
+    public AdviceJob failed(String message) {
+        return new AdviceJob(id, sku, State.FAILED, submittedAt, startedAt, LocalDateTime.now().toString(), null, message);
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+}
@@ -8,6 +8,8 @@ public record AdviceResponse(
     Map<String, Object> recommendations,
     FinancialMetrics financialMetrics,
     String timestamp,
-    Integer ttlHours
+    Integer ttlHours,
+    Boolean cached,
+    String promptVersion
 ) {
 }
@@ -0,0 +1,12 @@
+package com.aiadviser.model;
+
+/**
+ * Aggregated LLM input captured for a SKU's chat. The version increases with every capture.
+ */
+public record ChatInputSnapshot(
+    String sku,
+    long version,
+    long capturedAt,
+    LLMInputData input
+) {
+}
@@ -3,6 +3,7 @@ package com.aiadviser.model;
 public record ChatResponse(
     String message,
     String role,
-    String timestamp
+    String timestamp,
+    String promptVersion
 ) {
 }
@@ -8,6 +8,7 @@ public record ChatSession(
     String sessionData,
     LocalDateTime expiresAt,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt
+    LocalDateTime updatedAt,
+    Long version
 ) {
 }
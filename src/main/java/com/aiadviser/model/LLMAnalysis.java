@@ -0,0 +1,9 @@
+package com.aiadviser.model;
+
+import java.util.Map;
+
+public record LLMAnalysis(
+    Map<String, Object> recommendations,
+    String promptVersion
+) {
+}
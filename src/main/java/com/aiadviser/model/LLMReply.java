@@ -0,0 +1,7 @@
+package com.aiadviser.model;
+
+public record LLMReply(
+    String text,
+    String promptVersion
+) {
+}
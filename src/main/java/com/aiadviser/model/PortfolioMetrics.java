@@ -0,0 +1,17 @@
+package com.aiadviser.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PortfolioMetrics(
+    BigDecimal totalExpectedRevenue,
+    BigDecimal totalExpectedProfit,
+    BigDecimal totalCarryingCost,
+    BigDecimal totalStockoutLoss,
+    Integer productCount,
+    Integer failedCount,
+    List<SkuRisk> riskiestSkus,
+    Long dataVersion,
+    String computedAt
+) {
+}
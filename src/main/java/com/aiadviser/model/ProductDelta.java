@@ -0,0 +1,17 @@
+package com.aiadviser.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Current dashboard values of one SKU, pushed when any of them changes.
+ * Stock and sales fields are null while the SKU has no inventory state yet.
+ */
+public record ProductDelta(
+    String sku,
+    Integer stockQuantity,
+    Integer monthlySales,
+    BigDecimal monthlyProfit,
+    LocalDateTime adviceComputedAt
+) {
+}
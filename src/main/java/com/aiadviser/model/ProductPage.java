@@ -0,0 +1,11 @@
+package com.aiadviser.model;
+
+import java.util.List;
+
+public record ProductPage(
+    List<Object> items,
+    String nextCursor,
+    Integer limit,
+    Integer scanned
+) {
+}
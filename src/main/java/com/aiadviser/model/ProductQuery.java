@@ -0,0 +1,15 @@
+package com.aiadviser.model;
+
+import java.util.Set;
+
+public record ProductQuery(
+    String cursor,
+    int limit,
+    ProductSort sort,
+    boolean descending,
+    boolean lowStockOnly,
+    int lowStockThreshold,
+    boolean negativeProfitOnly,
+    Set<String> fields
+) {
+}
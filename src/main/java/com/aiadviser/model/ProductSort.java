@@ -0,0 +1,59 @@
+package com.aiadviser.model;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Sortable product_data columns. Every sort is keyset-paginated on (column, sku).
+ */
+public enum ProductSort {
+    SKU("sku", "sku"),
+    PRODUCT_NAME("productName", "product_name"),
+    COGS("cogs", "cogs"),
+    LEAD_TIME_DAYS("leadTimeDays", "lead_time_days"),
+    UPDATED_AT("updatedAt", "updated_at");
+
+    private final String field;
+    private final String column;
+
+    ProductSort(String field, String column) {
+        this.field = field;
+        this.column = column;
+    }
+
+    public String field() {
+        return field;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public static ProductSort fromField(String field) {
+        return Arrays.stream(values())
+            .filter(sort -> sort.field.equals(field))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + field));
+    }
+
+    public String cursorValue(ProductData product) {
+        return switch (this) {
+            case SKU -> product.sku();
+            case PRODUCT_NAME -> product.productName();
+            case COGS -> product.cogs().toPlainString();
+            case LEAD_TIME_DAYS -> String.valueOf(product.leadTimeDays());
+            case UPDATED_AT -> product.updatedAt().toString();
+        };
+    }
+
+    public Object parseCursorValue(String value) {
+        return switch (this) {
+            case SKU, PRODUCT_NAME -> value;
+            case COGS -> new BigDecimal(value);
+            case LEAD_TIME_DAYS -> Integer.parseInt(value);
+            case UPDATED_AT -> Timestamp.valueOf(LocalDateTime.parse(value));
+        };
+    }
+}
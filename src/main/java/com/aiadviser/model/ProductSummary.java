@@ -13,6 +13,7 @@ public record ProductSummary(
     LocalDateTime updatedAt,
     Integer stockQuantity,
     Integer monthlySales,
-    BigDecimal monthlyProfit
+    BigDecimal monthlyProfit,
+    LocalDateTime adviceComputedAt
 ) {
 }
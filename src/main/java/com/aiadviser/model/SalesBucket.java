@@ -0,0 +1,20 @@
+package com.aiadviser.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record SalesBucket(
+    LocalDate periodStart,
+    int quantity,
+    BigDecimal totalAmount,
+    int orderCount
+) {
+    public SalesBucket plus(SalesBucket other) {
+        return new SalesBucket(
+            periodStart,
+            quantity + other.quantity,
+            totalAmount.add(other.totalAmount),
+            orderCount + other.orderCount
+        );
+    }
+}
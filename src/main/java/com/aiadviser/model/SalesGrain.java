@@ -0,0 +1,37 @@
+package com.aiadviser.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * Bucket size of a sales range query. Weeks start on Monday.
+ */
+public enum SalesGrain {
+    DAY("day"),
+    WEEK("week");
+
+    private final String param;
+
+    SalesGrain(String param) {
+        this.param = param;
+    }
+
+    public static SalesGrain fromParam(String param) {
+        return Arrays.stream(values())
+            .filter(grain -> grain.param.equalsIgnoreCase(param))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported grain: " + param));
+    }
+
+    /**
+     * First day of the bucket containing date
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.aiadviser.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales of one SKU between from and to (inclusive), one bucket per period with sales.
+ * Edge buckets of a week series only cover the days inside the range.
+ */
+public record SalesSeries(
+    String sku,
+    SalesGrain grain,
+    LocalDate from,
+    LocalDate to,
+    List<SalesBucket> buckets
+) {
+}
@@ -0,0 +1,20 @@
+package com.aiadviser.model;
+
+import java.util.List;
+
+/**
+ * Last known stock and daily sales buckets for a SKU.
+ * observedAt is epoch millis; restored marks state loaded from a snapshot that has not been refreshed yet.
+ */
+public record SkuInventoryState(
+    String sku,
+    Integer stockQuantity,
+    String warehouseInfo,
+    List<SaleData> dailySales,
+    Long observedAt,
+    Boolean restored
+) {
+    public StockData toStockData() {
+        return new StockData(sku, stockQuantity, warehouseInfo);
+    }
+}
@@ -0,0 +1,14 @@
+package com.aiadviser.model;
+
+import java.math.BigDecimal;
+
+public record SkuRisk(
+    String sku,
+    String productName,
+    Integer stockQuantity,
+    Integer daysUntilStockout,
+    BigDecimal stockoutLoss,
+    BigDecimal carryingCost,
+    BigDecimal expectedProfit
+) {
+}
@@ -0,0 +1,32 @@
+package com.aiadviser.model;
+
+public record SyncStatus(
+    State state,
+    Integer totalProducts,
+    Integer processedProducts,
+    Integer failedProducts,
+    Integer progressPercent,
+    String startedAt,
+    String completedAt,
+    String message
+) {
+    public enum State {
+        STARTING,
+        SYNCING,
+        READY,
+        FAILED
+    }
+
+    public static SyncStatus starting() {
+        return new SyncStatus(State.STARTING, 0, 0, 0, 0, null, null, "Waiting for application startup");
+    }
+
+    public static SyncStatus syncedElsewhere() {
+        return new SyncStatus(State.READY, 0, 0, 0, 100, null, null, "Product synchronization ran on another node");
+    }
+
+    public static SyncStatus syncing(int total, int processed, int failed, String startedAt) {
+        int percent = total > 0 ? (int) Math.round(processed * 100.0 / total) : 0;
+        return new SyncStatus(State.SYNCING, total, processed, failed, percent, startedAt, null, null);
+    }
+}
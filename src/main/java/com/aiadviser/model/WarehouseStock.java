@@ -0,0 +1,9 @@
+package com.aiadviser.model;
+
+public record WarehouseStock(
+    String sku,
+    String warehouseId,
+    Integer quantity,
+    String location
+) {
+}
@@ -0,0 +1,28 @@
+package com.aiadviser.model.baselinker;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One inventory stock change from the getJournalList journal. log_id is strictly increasing;
+ * quantity_change is the signed delta applied to the SKU in one warehouse.
+ */
+public record BaselinkerJournalEvent(
+    @JsonProperty("log_id")
+    Long logId,
+    
+    @JsonProperty("log_type")
+    String logType,
+    
+    @JsonProperty("product_id")
+    String productId,
+    
+    String sku,
+    
+    @JsonProperty("warehouse_id")
+    String warehouseId,
+    
+    @JsonProperty("quantity_change")
+    Integer quantityChange,
+    
+    Long date
+) {}
@@ -0,0 +1,8 @@
+package com.aiadviser.model.baselinker;
+
+import java.util.List;
+
+public record BaselinkerJournalResponse(
+    String status,
+    List<BaselinkerJournalEvent> logs
+) {}
@@ -0,0 +1,107 @@
+package com.aiadviser.prompt;
+
+import com.aiadviser.config.PromptConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads and parses every configured prompt template version once at startup, and picks the version
+ * a SKU gets for each template. A missing or malformed template fails startup.
+ */
+@Component
+public class PromptRegistry {
+
+    public static final String ADVICE_ANALYSIS = "advice-analysis";
+    public static final String CHAT_CONTEXT = "chat-context";
+    public static final String CHAT_GREETING = "chat-greeting";
+
+    private static final Logger log = LoggerFactory.getLogger(PromptRegistry.class);
+    private static final Map<String, Integer> DEFAULT_VERSIONS = Map.of("v1", 100);
+
+    private final Map<String, WeightedVersions> templates = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public PromptRegistry(PromptConfig config, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String name : List.of(ADVICE_ANALYSIS, CHAT_CONTEXT, CHAT_GREETING)) {
+            Map<String, Integer> weights = config.getVersions().getOrDefault(name, DEFAULT_VERSIONS);
+            templates.put(name, load(name, weights));
+            log.info("Loaded prompt template {} with versions {}", name, weights);
+        }
+    }
+
+    /**
+     * The version of a template assigned to a SKU
+     */
+    public PromptTemplate select(String template, String sku) {
+        WeightedVersions versions = templates.get(template);
+        if (versions == null) {
+            throw new IllegalArgumentException("Unknown prompt template: " + template);
+        }
+        return versions.pick(sku);
+    }
+
+    public RenderedPrompt render(String template, String sku, PromptVariables values) {
+        PromptTemplate selected = select(template, sku);
+        meterRegistry.counter("prompts.rendered", "template", selected.name(), "version", selected.version()).increment();
+        return new RenderedPrompt(selected.render(values), selected.versionId());
+    }
+
+    private static WeightedVersions load(String name, Map<String, Integer> weights) {
+        PromptTemplate[] versions = new PromptTemplate[weights.size()];
+        int[] cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalStateException("Prompt " + name + "/" + entry.getKey() + " needs a positive weight");
+            }
+            versions[i] = PromptTemplate.parse(name, entry.getKey(), read(name, entry.getKey()));
+            total += entry.getValue();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        if (total == 0) {
+            throw new IllegalStateException("No versions configured for prompt " + name);
+        }
+        return new WeightedVersions(versions, cumulativeWeights);
+    }
+
+    private static String read(String name, String version) {
+        String path = "prompts/" + name + "/" + version + ".txt";
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read prompt template " + path, e);
+        }
+    }
+
+    private record WeightedVersions(PromptTemplate[] versions, int[] cumulativeWeights) {
+
+        PromptTemplate pick(String sku) {
+            if (versions.length == 1) {
+                return versions[0];
+            }
+            int total = cumulativeWeights[cumulativeWeights.length - 1];
+            int hash = (sku.hashCode() * 31 + versions[0].name().hashCode()) * 0x9E3779B9;
+            int bucket = Math.floorMod(hash ^ (hash >>> 16), total);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (bucket < cumulativeWeights[i]) {
+                    return versions[i];
+                }
+            }
+            return versions[versions.length - 1];
+        }
+    }
+}
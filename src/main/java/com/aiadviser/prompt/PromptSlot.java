@@ -0,0 +1,83 @@
+package com.aiadviser.prompt;
+
+/**
+ * Typed placeholders a template may use as {{name}}. Each slot appends its value straight into the
+ * render buffer, so numbers are written without intermediate strings.
+ */
+public enum PromptSlot {
+    SKU("sku") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.sku());
+        }
+    },
+    PRODUCT_NAME("productName") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.productName());
+        }
+    },
+    COGS("cogs") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.cogs());
+        }
+    },
+    LEAD_TIME_DAYS("leadTimeDays") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.leadTimeDays());
+        }
+    },
+    STOCK_QUANTITY("stockQuantity") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.stockQuantity());
+        }
+    },
+    WAREHOUSE("warehouse") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.warehouse());
+        }
+    },
+    UNITS_SOLD_30D("unitsSold30d") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            out.append(values.unitsSold30d());
+        }
+    },
+    AVERAGE_DAILY_SALES("averageDailySales") {
+        @Override
+        void append(StringBuilder out, PromptVariables values) {
+            long cents = values.averageDailySalesCents();
+            out.append(cents / 100).append('.');
+            long fraction = cents % 100;
+            if (fraction < 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+    };
+
+    private final String placeholder;
+
+    PromptSlot(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String placeholder() {
+        return placeholder;
+    }
+
+    abstract void append(StringBuilder out, PromptVariables values);
+
+    static PromptSlot fromPlaceholder(String name) {
+        for (PromptSlot slot : values()) {
+            if (slot.placeholder.equals(name)) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException("Unknown prompt slot: {{" + name + "}}");
+    }
+}
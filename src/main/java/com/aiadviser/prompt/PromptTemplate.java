@@ -0,0 +1,86 @@
+package com.aiadviser.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prompt parsed once into alternating constant segments and typed slots. Rendering appends the
+ * segments and slot values into a builder presized from the constant text plus a per-slot estimate,
+ * so a render allocates the builder once and the resulting String, with no regrowth.
+ */
+public final class PromptTemplate {
+
+    /**
+     * Characters reserved per slot; values are SKUs, product names and numbers
+     */
+    private static final int SLOT_ESTIMATE = 32;
+
+    private final String name;
+    private final String version;
+    private final String[] segments;
+    private final PromptSlot[] slots;
+    private final int renderCapacity;
+
+    private PromptTemplate(String name, String version, String[] segments, PromptSlot[] slots) {
+        this.name = name;
+        this.version = version;
+        this.segments = segments;
+        this.slots = slots;
+        int constantLength = 0;
+        for (String segment : segments) {
+            constantLength += segment.length();
+        }
+        this.renderCapacity = constantLength + slots.length * SLOT_ESTIMATE;
+    }
+
+    /**
+     * Parses {{slot}} placeholders; unknown slots and unclosed placeholders fail here rather than at render time
+     */
+    public static PromptTemplate parse(String name, String version, String text) {
+        List<String> segments = new ArrayList<>();
+        List<PromptSlot> slots = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = text.indexOf("{{", position);
+            if (open < 0) {
+                segments.add(text.substring(position));
+                break;
+            }
+            int close = text.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in prompt " + name + "/" + version);
+            }
+            segments.add(text.substring(position, open));
+            slots.add(PromptSlot.fromPlaceholder(text.substring(open + 2, close).trim()));
+            position = close + 2;
+        }
+
+        return new PromptTemplate(name, version, segments.toArray(String[]::new), slots.toArray(PromptSlot[]::new));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /**
+     * "name/version", recorded with every response produced from this template
+     */
+    public String versionId() {
+        return name + "/" + version;
+    }
+
+    public String render(PromptVariables values) {
+        StringBuilder out = new StringBuilder(renderCapacity);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(segments[i]);
+            slots[i].append(out, values);
+        }
+        out.append(segments[slots.length]);
+        return out.toString();
+    }
+}
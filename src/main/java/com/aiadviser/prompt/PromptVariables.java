@@ -0,0 +1,40 @@
+package com.aiadviser.prompt;
+
+import com.aiadviser.model.LLMInputData;
+import com.aiadviser.model.SaleData;
+
+import java.math.BigDecimal;
+
+/**
+ * Values available to prompt templates, derived once per render from the aggregated input.
+ * The 30-day sales figures are computed here so every template states them the same way.
+ */
+public record PromptVariables(
+    String sku,
+    String productName,
+    BigDecimal cogs,
+    int leadTimeDays,
+    int stockQuantity,
+    String warehouse,
+    int unitsSold30d,
+    long averageDailySalesCents
+) {
+    static final int SALES_WINDOW_DAYS = 30;
+
+    public static PromptVariables of(LLMInputData data) {
+        int unitsSold = 0;
+        for (SaleData sale : data.recentSales()) {
+            unitsSold += sale.quantity();
+        }
+        return new PromptVariables(
+            data.sku(),
+            data.productName(),
+            data.cogs(),
+            data.leadTimeDays() != null ? data.leadTimeDays() : 0,
+            data.currentStock().quantity(),
+            data.currentStock().warehouse(),
+            unitsSold,
+            Math.round(unitsSold * 100.0 / SALES_WINDOW_DAYS)
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.aiadviser.prompt;
+
+public record RenderedPrompt(
+    String text,
+    String versionId
+) {
+}
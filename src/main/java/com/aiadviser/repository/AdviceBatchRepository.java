@@ -0,0 +1,154 @@
+package com.aiadviser.repository;
+
+import com.aiadviser.model.AdviceBatchRun;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Nightly advice runs in advice_batch_runs and their per-SKU results in advice_batch_results
+ */
+@Repository
+public class AdviceBatchRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public AdviceBatchRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<AdviceBatchRun> findRun(LocalDate runDate) {
+        String sql = """
+            SELECT run_date, status, last_sku, processed, failed, elapsed_millis, started_at, deadline_at, completed_at
+            FROM advice_batch_runs
+            WHERE run_date = :runDate
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("runDate", runDate)
+            .query(AdviceBatchRepository::mapRun)
+            .optional();
+    }
+
+    public Optional<AdviceBatchRun> findLatestRun() {
+        String sql = """
+            SELECT run_date, status, last_sku, processed, failed, elapsed_millis, started_at, deadline_at, completed_at
+            FROM advice_batch_runs
+            ORDER BY run_date DESC
+            LIMIT 1
+            """;
+
+        return jdbcClient.sql(sql)
+            .query(AdviceBatchRepository::mapRun)
+            .optional();
+    }
+
+    public List<AdviceBatchRun> findRunning() {
+        String sql = """
+            SELECT run_date, status, last_sku, processed, failed, elapsed_millis, started_at, deadline_at, completed_at
+            FROM advice_batch_runs
+            WHERE status = 'RUNNING'
+            ORDER BY run_date
+            """;
+
+        return jdbcClient.sql(sql)
+            .query(AdviceBatchRepository::mapRun)
+            .list();
+    }
+
+    public void insertRun(LocalDate runDate, LocalDateTime startedAt, LocalDateTime deadlineAt) {
+        String sql = """
+            INSERT INTO advice_batch_runs (run_date, status, started_at, deadline_at)
+            VALUES (:runDate, 'RUNNING', :startedAt, :deadlineAt)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("runDate", runDate)
+            .param("startedAt", startedAt)
+            .param("deadlineAt", deadlineAt)
+            .update();
+    }
+
+    /**
+     * Moves the checkpoint past a processed chunk. Call in the same transaction as saveResults.
+     */
+    public void saveCheckpoint(LocalDate runDate, String lastSku, int processed, int failed, long elapsedMillis) {
+        String sql = """
+            UPDATE advice_batch_runs
+            SET last_sku = :lastSku,
+                processed = processed + :processed,
+                failed = failed + :failed,
+                elapsed_millis = elapsed_millis + :elapsedMillis,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE run_date = :runDate AND status = 'RUNNING'
+            """;
+
+        jdbcClient.sql(sql)
+            .param("lastSku", lastSku)
+            .param("processed", processed)
+            .param("failed", failed)
+            .param("elapsedMillis", elapsedMillis)
+            .param("runDate", runDate)
+            .update();
+    }
+
+    public void finishRun(LocalDate runDate, AdviceBatchRun.Status status) {
+        String sql = """
+            UPDATE advice_batch_runs
+            SET status = :status, completed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP
+            WHERE run_date = :runDate AND status = 'RUNNING'
+            """;
+
+        jdbcClient.sql(sql)
+            .param("status", status.name())
+            .param("runDate", runDate)
+            .update();
+    }
+
+    /**
+     * Stores the advice JSON per SKU, replacing whatever an earlier run left
+     */
+    public void saveResults(LocalDate runDate, Map<String, String> adviceBySku) {
+        String sql = """
+            MERGE INTO advice_batch_results (sku, run_date, advice, computed_at)
+            KEY (sku)
+            VALUES (:sku, :runDate, :advice, CURRENT_TIMESTAMP)
+            """;
+
+        adviceBySku.forEach((sku, advice) -> jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("runDate", runDate)
+            .param("advice", advice)
+            .update());
+    }
+
+    public Optional<String> findResult(String sku) {
+        return jdbcClient.sql("SELECT advice FROM advice_batch_results WHERE sku = :sku")
+            .param("sku", sku)
+            .query(String.class)
+            .optional();
+    }
+
+    private static AdviceBatchRun mapRun(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        return new AdviceBatchRun(
+            rs.getDate("run_date").toLocalDate(),
+            AdviceBatchRun.Status.valueOf(rs.getString("status")),
+            rs.getString("last_sku"),
+            rs.getInt("processed"),
+            rs.getInt("failed"),
+            rs.getLong("elapsed_millis"),
+            rs.getTimestamp("started_at").toLocalDateTime(),
+            rs.getTimestamp("deadline_at").toLocalDateTime(),
+            completedAt != null ? completedAt.toLocalDateTime() : null
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.aiadviser.repository;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Shared cache rows. An entry is live while it is unexpired and was written under its region's
+ * current version; a region without a cache_regions row is at version 0.
+ */
+@Repository
+public class CacheEntryRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public CacheEntryRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<String> findLive(String region, String key) {
+        String sql = """
+            SELECT e.payload
+            FROM cache_entries e
+            LEFT JOIN cache_regions r ON r.region = e.region
+            WHERE e.region = :region AND e.cache_key = :key
+              AND e.expires_at > CURRENT_TIMESTAMP
+              AND e.region_version = COALESCE(r.version, 0)
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("region", region)
+            .param("key", key)
+            .query(String.class)
+            .optional();
+    }
+
+    public void upsert(String region, String key, String payload, long ttlMillis) {
+        String sql = """
+            MERGE INTO cache_entries (region, cache_key, payload, region_version, expires_at, updated_at)
+            KEY (region, cache_key)
+            VALUES (
+                :region, :key, :payload,
+                COALESCE((SELECT version FROM cache_regions WHERE region = :region), 0),
+                DATEADD('MILLISECOND', :ttl, CURRENT_TIMESTAMP),
+                CURRENT_TIMESTAMP
+            )
+            """;
+
+        jdbcClient.sql(sql)
+            .param("region", region)
+            .param("key", key)
+            .param("payload", payload)
+            .param("ttl", ttlMillis)
+            .update();
+    }
+
+    public void delete(String region, String key) {
+        jdbcClient.sql("DELETE FROM cache_entries WHERE region = :region AND cache_key = :key")
+            .param("region", region)
+            .param("key", key)
+            .update();
+    }
+
+    public void bumpRegionVersion(String region) {
+        String sql = """
+            MERGE INTO cache_regions (region, version)
+            KEY (region)
+            VALUES (:region, COALESCE((SELECT version FROM cache_regions WHERE region = :region), 0) + 1)
+            """;
+
+        jdbcClient.sql(sql).param("region", region).update();
+    }
+
+    public int deleteDead() {
+        String sql = """
+            DELETE FROM cache_entries e
+            WHERE e.expires_at <= CURRENT_TIMESTAMP
+               OR e.region_version < COALESCE((SELECT r.version FROM cache_regions r WHERE r.region = e.region), 0)
+            """;
+
+        return jdbcClient.sql(sql).update();
+    }
+}
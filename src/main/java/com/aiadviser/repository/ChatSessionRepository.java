@@ -18,7 +18,7 @@ public class ChatSessionRepository {
 
     public Optional<ChatSession> findBySku(String sku) {
         String sql = """
-            SELECT id, sku, session_data, expires_at, created_at, updated_at
+            SELECT id, sku, session_data, expires_at, created_at, updated_at, version
             FROM chat_sessions
             WHERE sku = :sku AND expires_at > CURRENT_TIMESTAMP
             ORDER BY updated_at DESC
@@ -33,18 +33,39 @@ public class ChatSessionRepository {
                 rs.getString("session_data"),
                 rs.getTimestamp("expires_at").toLocalDateTime(),
                 rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
+                rs.getTimestamp("updated_at").toLocalDateTime(),
+                rs.getLong("version")
             ))
             .optional();
     }
 
+    /**
+     * Returns "id.version" of the live session without loading its data, for cheap conditional GETs.
+     * The id is included because a session deleted and recreated starts again at version 0.
+     */
+    public Optional<String> findVersionTagBySku(String sku) {
+        String sql = """
+            SELECT id, version
+            FROM chat_sessions
+            WHERE sku = :sku AND expires_at > CURRENT_TIMESTAMP
+            ORDER BY updated_at DESC
+            LIMIT 1
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("sku", sku)
+            .query((rs, rowNum) -> rs.getLong("id") + "." + rs.getLong("version"))
+            .optional();
+    }
+
     public ChatSession save(String sku, String sessionData, LocalDateTime expiresAt) {
         Optional<ChatSession> existing = findBySku(sku);
 
         if (existing.isPresent()) {
             String updateSql = """
                 UPDATE chat_sessions
-                SET session_data = :sessionData, expires_at = :expiresAt, updated_at = CURRENT_TIMESTAMP
+                SET session_data = :sessionData, expires_at = :expiresAt, updated_at = CURRENT_TIMESTAMP,
+                    version = version + 1
                 WHERE sku = :sku
                 """;
 
@@ -71,13 +92,75 @@ public class ChatSessionRepository {
         }
     }
 
-    public int deleteExpired() {
-        String sql = "DELETE FROM chat_sessions WHERE expires_at <= CURRENT_TIMESTAMP";
-        return jdbcClient.sql(sql).update();
+    /**
+     * The input snapshot attached to the live session, as its JSON payload
+     */
+    public Optional<StoredInputSnapshot> findInputSnapshot(String sku) {
+        String sql = """
+            SELECT input_version, input_captured_at, input_snapshot
+            FROM chat_sessions
+            WHERE sku = :sku AND expires_at > CURRENT_TIMESTAMP AND input_snapshot IS NOT NULL
+            ORDER BY updated_at DESC
+            LIMIT 1
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("sku", sku)
+            .query((rs, rowNum) -> new StoredInputSnapshot(
+                rs.getLong("input_version"),
+                rs.getLong("input_captured_at"),
+                rs.getString("input_snapshot")
+            ))
+            .optional();
+    }
+
+    /**
+     * Attaches an input snapshot to the SKU's session unless a newer one is already attached.
+     * Does nothing when the SKU has no session yet. Leaves the session version alone, so chat ETags
+     * only follow the messages.
+     */
+    public boolean saveInputSnapshot(String sku, long version, long capturedAt, String payload) {
+        String sql = """
+            UPDATE chat_sessions
+            SET input_snapshot = :payload, input_version = :version, input_captured_at = :capturedAt
+            WHERE sku = :sku AND input_version < :version
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("payload", payload)
+            .param("version", version)
+            .param("capturedAt", capturedAt)
+            .param("sku", sku)
+            .update() > 0;
+    }
+
+    /**
+     * Deletes at most {@code limit} expired sessions, oldest expiry first, so each statement
+     * touches a bounded number of rows and holds its locks only briefly
+     */
+    public int deleteExpiredChunk(int limit) {
+        String sql = """
+            DELETE FROM chat_sessions
+            WHERE id IN (
+                SELECT id FROM chat_sessions
+                WHERE expires_at <= CURRENT_TIMESTAMP
+                ORDER BY expires_at
+                LIMIT :limit
+            )
+            """;
+        return jdbcClient.sql(sql).param("limit", limit).update();
+    }
+
+    public long countExpired() {
+        String sql = "SELECT COUNT(*) FROM chat_sessions WHERE expires_at <= CURRENT_TIMESTAMP";
+        return jdbcClient.sql(sql).query(Long.class).single();
     }
 
     public void deleteBySku(String sku) {
         String sql = "DELETE FROM chat_sessions WHERE sku = :sku";
         jdbcClient.sql(sql).param("sku", sku).update();
     }
+
+    public record StoredInputSnapshot(long version, long capturedAt, String payload) {
+    }
 }
@@ -0,0 +1,87 @@
+package com.aiadviser.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Leases in job_leases. Expiry is computed from the database clock, so nodes with skewed clocks
+ * still agree on when a lease has lapsed.
+ */
+@Repository
+public class JobLeaseRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public JobLeaseRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Takes the lease if it is free, lapsed or already ours. Returns false while another owner holds it.
+     */
+    public boolean tryAcquire(String jobName, String owner, long ttlMillis) {
+        String takeOverSql = """
+            UPDATE job_leases
+            SET owner = :owner, expires_at = DATEADD('MILLISECOND', :ttl, CURRENT_TIMESTAMP),
+                acquired_at = CURRENT_TIMESTAMP
+            WHERE job_name = :jobName AND (expires_at <= CURRENT_TIMESTAMP OR owner = :owner)
+            """;
+
+        int updated = jdbcClient.sql(takeOverSql)
+            .param("owner", owner)
+            .param("ttl", ttlMillis)
+            .param("jobName", jobName)
+            .update();
+        if (updated > 0) {
+            return true;
+        }
+
+        String insertSql = """
+            INSERT INTO job_leases (job_name, owner, expires_at)
+            VALUES (:jobName, :owner, DATEADD('MILLISECOND', :ttl, CURRENT_TIMESTAMP))
+            """;
+        try {
+            return jdbcClient.sql(insertSql)
+                .param("jobName", jobName)
+                .param("owner", owner)
+                .param("ttl", ttlMillis)
+                .update() > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Extends a lease we still hold. Returns false if it lapsed and another owner took it.
+     */
+    public boolean renew(String jobName, String owner, long ttlMillis) {
+        String sql = """
+            UPDATE job_leases
+            SET expires_at = DATEADD('MILLISECOND', :ttl, CURRENT_TIMESTAMP)
+            WHERE job_name = :jobName AND owner = :owner
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("ttl", ttlMillis)
+            .param("jobName", jobName)
+            .param("owner", owner)
+            .update() > 0;
+    }
+
+    /**
+     * Expires a lease we hold immediately, so the next node can take it without waiting out the TTL
+     */
+    public void release(String jobName, String owner) {
+        String sql = """
+            UPDATE job_leases
+            SET expires_at = CURRENT_TIMESTAMP
+            WHERE job_name = :jobName AND owner = :owner
+            """;
+
+        jdbcClient.sql(sql)
+            .param("jobName", jobName)
+            .param("owner", owner)
+            .update();
+    }
+}
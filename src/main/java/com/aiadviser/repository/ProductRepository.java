@@ -1,11 +1,16 @@
 package com.aiadviser.repository;
 
 import com.aiadviser.model.ProductData;
+import com.aiadviser.model.ProductSort;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,7 +49,8 @@ public class ProductRepository {
         } else {
             jdbcClient.sql("""
                 UPDATE product_data
-                SET product_name = :productName, cogs = :cogs, lead_time_days = :leadTimeDays
+                SET product_name = :productName, cogs = :cogs, lead_time_days = :leadTimeDays,
+                    updated_at = CURRENT_TIMESTAMP
                 WHERE id = :id
                 """)
                 .param("id", product.id())
@@ -64,23 +70,15 @@ public class ProductRepository {
             WHERE sku = :sku
             """)
             .param("sku", sku)
-            .query((rs, rowNum) -> new ProductData(
-                rs.getLong("id"),
-                rs.getString("sku"),
-                rs.getString("product_name"),
-                rs.getBigDecimal("cogs"),
-                rs.getInt("lead_time_days"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            ))
+            .query(ProductRepository::mapRow)
             .optional();
     }
 
     public void upsertBySku(ProductData product) {
         jdbcClient.sql("""
-            MERGE INTO product_data (sku, product_name, cogs, lead_time_days)
+            MERGE INTO product_data (sku, product_name, cogs, lead_time_days, updated_at)
             KEY (sku)
-            VALUES (:sku, :productName, :cogs, :leadTimeDays)
+            VALUES (:sku, :productName, :cogs, :leadTimeDays, CURRENT_TIMESTAMP)
             """)
             .param("sku", product.sku())
             .param("productName", product.productName())
@@ -89,21 +87,86 @@ public class ProductRepository {
             .update();
     }
 
+    public boolean insertIfAbsent(ProductData product) {
+        return jdbcClient.sql("""
+            INSERT INTO product_data (sku, product_name, cogs, lead_time_days)
+            SELECT :sku, :productName, :cogs, :leadTimeDays
+            WHERE NOT EXISTS (SELECT 1 FROM product_data WHERE sku = :sku)
+            """)
+            .param("sku", product.sku())
+            .param("productName", product.productName())
+            .param("cogs", product.cogs())
+            .param("leadTimeDays", product.leadTimeDays())
+            .update() > 0;
+    }
+
+    public Optional<LocalDateTime> findLatestUpdatedAt() {
+        return jdbcClient.sql("SELECT MAX(updated_at) FROM product_data")
+            .query((rs, rowNum) -> rs.getTimestamp(1))
+            .optional()
+            .map(Timestamp::toLocalDateTime);
+    }
+
+    public long count() {
+        return jdbcClient.sql("SELECT COUNT(*) FROM product_data")
+            .query(Long.class)
+            .single();
+    }
+
     public List<ProductData> findAll() {
         return jdbcClient.sql("""
             SELECT id, sku, product_name, cogs, lead_time_days, created_at, updated_at
             FROM product_data
             ORDER BY sku
             """)
-            .query((rs, rowNum) -> new ProductData(
-                rs.getLong("id"),
-                rs.getString("sku"),
-                rs.getString("product_name"),
-                rs.getBigDecimal("cogs"),
-                rs.getInt("lead_time_days"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            ))
+            .query(ProductRepository::mapRow)
             .list();
     }
+
+    /**
+     * Keyset page over product_data ordered by (sort column, sku).
+     * afterValue/afterSku are the position of the last row of the previous page, or null for the first page.
+     */
+    public List<ProductData> findPage(ProductSort sort, boolean descending, Object afterValue, String afterSku, int limit) {
+        String column = sort.column();
+        String direction = descending ? "DESC" : "ASC";
+        String comparator = descending ? "<" : ">";
+
+        String where = "";
+        if (afterSku != null) {
+            where = sort == ProductSort.SKU
+                ? "WHERE sku " + comparator + " :afterSku"
+                : "WHERE " + column + " " + comparator + " :afterValue"
+                    + " OR (" + column + " = :afterValue AND sku " + comparator + " :afterSku)";
+        }
+
+        String sql = """
+            SELECT id, sku, product_name, cogs, lead_time_days, created_at, updated_at
+            FROM product_data
+            %s
+            ORDER BY %s %s, sku %s
+            LIMIT :limit
+            """.formatted(where, column, direction, direction);
+
+        var statement = jdbcClient.sql(sql).param("limit", limit);
+        if (afterSku != null) {
+            statement = statement.param("afterSku", afterSku);
+            if (sort != ProductSort.SKU) {
+                statement = statement.param("afterValue", afterValue);
+            }
+        }
+        return statement.query(ProductRepository::mapRow).list();
+    }
+
+    private static ProductData mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ProductData(
+            rs.getLong("id"),
+            rs.getString("sku"),
+            rs.getString("product_name"),
+            rs.getBigDecimal("cogs"),
+            rs.getInt("lead_time_days"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime()
+        );
+    }
 }
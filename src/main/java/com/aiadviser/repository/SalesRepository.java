@@ -0,0 +1,168 @@
+package com.aiadviser.repository;
+
+import com.aiadviser.model.SalesBucket;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales ledger (sales_history), per-SKU daily and weekly aggregates (sales_daily, sales_weekly),
+ * the set of Shopify orders already ingested and the record of the one-time seed from the orders API.
+ */
+@Repository
+public class SalesRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public SalesRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Records a webhook order id. Returns false if it was already ingested.
+     */
+    public boolean markOrderIngested(long orderId) {
+        try {
+            return jdbcClient.sql("INSERT INTO shopify_webhook_orders (order_id) VALUES (:orderId)")
+                .param("orderId", orderId)
+                .update() > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public boolean isSeeded(String source) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM sales_seeds WHERE source = :source")
+            .param("source", source)
+            .query(Integer.class)
+            .single() > 0;
+    }
+
+    public void markSeeded(String source, int windowDays, int orderCount) {
+        String sql = """
+            INSERT INTO sales_seeds (source, window_days, order_count)
+            VALUES (:source, :windowDays, :orderCount)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("source", source)
+            .param("windowDays", windowDays)
+            .param("orderCount", orderCount)
+            .update();
+    }
+
+    public void insertSale(String sku, LocalDate saleDate, int quantity, BigDecimal unitPrice, BigDecimal totalAmount) {
+        String sql = """
+            INSERT INTO sales_history (sku, sale_date, quantity, unit_price, total_amount)
+            VALUES (:sku, :saleDate, :quantity, :unitPrice, :totalAmount)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("saleDate", saleDate)
+            .param("quantity", quantity)
+            .param("unitPrice", unitPrice)
+            .param("totalAmount", totalAmount)
+            .update();
+    }
+
+    /**
+     * Folds one order's units and revenue for a SKU into that day's aggregate
+     */
+    public void addToDaily(String sku, LocalDate saleDate, int quantity, BigDecimal totalAmount) {
+        String sql = """
+            MERGE INTO sales_daily d
+            USING (VALUES (CAST(:sku AS VARCHAR(100)), CAST(:saleDate AS DATE))) AS s(sku, sale_date)
+            ON d.sku = s.sku AND d.sale_date = s.sale_date
+            WHEN MATCHED THEN UPDATE SET
+                quantity = d.quantity + :quantity,
+                total_amount = d.total_amount + :totalAmount,
+                order_count = d.order_count + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (sku, sale_date, quantity, total_amount, order_count)
+                VALUES (s.sku, s.sale_date, :quantity, :totalAmount, 1)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("saleDate", saleDate)
+            .param("quantity", quantity)
+            .param("totalAmount", totalAmount)
+            .update();
+    }
+
+    /**
+     * Folds one order's units and revenue for a SKU into that week's aggregate; weekStart must be a Monday
+     */
+    public void addToWeekly(String sku, LocalDate weekStart, int quantity, BigDecimal totalAmount) {
+        String sql = """
+            MERGE INTO sales_weekly w
+            USING (VALUES (CAST(:sku AS VARCHAR(100)), CAST(:weekStart AS DATE))) AS s(sku, week_start)
+            ON w.sku = s.sku AND w.week_start = s.week_start
+            WHEN MATCHED THEN UPDATE SET
+                quantity = w.quantity + :quantity,
+                total_amount = w.total_amount + :totalAmount,
+                order_count = w.order_count + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (sku, week_start, quantity, total_amount, order_count)
+                VALUES (s.sku, s.week_start, :quantity, :totalAmount, 1)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("weekStart", weekStart)
+            .param("quantity", quantity)
+            .param("totalAmount", totalAmount)
+            .update();
+    }
+
+    public List<SalesBucket> findDaily(String sku, LocalDate from, LocalDate to) {
+        String sql = """
+            SELECT sale_date AS period_start, quantity, total_amount, order_count
+            FROM sales_daily
+            WHERE sku = :sku AND sale_date BETWEEN :from AND :to
+            ORDER BY sale_date
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("from", from)
+            .param("to", to)
+            .query(SalesRepository::mapBucket)
+            .list();
+    }
+
+    /**
+     * Weekly aggregates for the weeks starting between fromWeek and toWeek
+     */
+    public List<SalesBucket> findWeekly(String sku, LocalDate fromWeek, LocalDate toWeek) {
+        String sql = """
+            SELECT week_start AS period_start, quantity, total_amount, order_count
+            FROM sales_weekly
+            WHERE sku = :sku AND week_start BETWEEN :fromWeek AND :toWeek
+            ORDER BY week_start
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("fromWeek", fromWeek)
+            .param("toWeek", toWeek)
+            .query(SalesRepository::mapBucket)
+            .list();
+    }
+
+    private static SalesBucket mapBucket(ResultSet rs, int rowNum) throws SQLException {
+        return new SalesBucket(
+            rs.getDate("period_start").toLocalDate(),
+            rs.getInt("quantity"),
+            rs.getBigDecimal("total_amount"),
+            rs.getInt("order_count")
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.aiadviser.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Shopify webhook payloads accepted but not yet ingested. A row is written before the webhook is
+ * acknowledged and deleted once its order is ingested; a failed attempt pushes next_attempt_at back.
+ */
+@Repository
+public class ShopifyOrderInboxRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public ShopifyOrderInboxRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Returns false if the order is already waiting in the inbox
+     */
+    public boolean add(long orderId, String payload) {
+        try {
+            return jdbcClient.sql("INSERT INTO shopify_order_inbox (order_id, payload) VALUES (:orderId, :payload)")
+                .param("orderId", orderId)
+                .param("payload", payload)
+                .update() > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public int countPending() {
+        return jdbcClient.sql("SELECT COUNT(*) FROM shopify_order_inbox")
+            .query(Integer.class)
+            .single();
+    }
+
+    /**
+     * Orders due for an attempt, oldest first
+     */
+    public List<PendingOrder> findDue(int limit) {
+        String sql = """
+            SELECT order_id, payload, attempts
+            FROM shopify_order_inbox
+            WHERE next_attempt_at <= CURRENT_TIMESTAMP
+            ORDER BY received_at, order_id
+            LIMIT :limit
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("limit", limit)
+            .query((rs, rowNum) -> new PendingOrder(rs.getLong("order_id"), rs.getString("payload"), rs.getInt("attempts")))
+            .list();
+    }
+
+    public void delete(long orderId) {
+        jdbcClient.sql("DELETE FROM shopify_order_inbox WHERE order_id = :orderId")
+            .param("orderId", orderId)
+            .update();
+    }
+
+    public void markFailed(long orderId, long retryInMillis, String error) {
+        String sql = """
+            UPDATE shopify_order_inbox
+            SET attempts = attempts + 1,
+                next_attempt_at = DATEADD('MILLISECOND', :retryIn, CURRENT_TIMESTAMP),
+                last_error = :error
+            WHERE order_id = :orderId
+            """;
+
+        jdbcClient.sql(sql)
+            .param("orderId", orderId)
+            .param("retryIn", retryInMillis)
+            .param("error", error)
+            .update();
+    }
+
+    public record PendingOrder(long orderId, String payload, int attempts) {
+    }
+}
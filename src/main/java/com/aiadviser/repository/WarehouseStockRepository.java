@@ -0,0 +1,148 @@
+package com.aiadviser.repository;
+
+import com.aiadviser.model.WarehouseStock;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Local per-SKU, per-warehouse stock, the journal consumer's cursor and the journal position
+ * each SKU's last full read is known to include
+ */
+@Repository
+public class WarehouseStockRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public WarehouseStockRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public List<WarehouseStock> findBySku(String sku) {
+        String sql = """
+            SELECT sku, warehouse_id, quantity, location
+            FROM warehouse_stock
+            WHERE sku = :sku
+            ORDER BY warehouse_id
+            """;
+
+        return jdbcClient.sql(sql)
+            .param("sku", sku)
+            .query((rs, rowNum) -> new WarehouseStock(
+                rs.getString("sku"),
+                rs.getString("warehouse_id"),
+                rs.getInt("quantity"),
+                rs.getString("location")
+            ))
+            .list();
+    }
+
+    public boolean existsForSku(String sku) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM warehouse_stock WHERE sku = :sku")
+            .param("sku", sku)
+            .query(Long.class)
+            .single() > 0;
+    }
+
+    /**
+     * Replaces a SKU's stock with absolute per-warehouse quantities from a full read
+     */
+    public void replaceForSku(String sku, Map<String, Integer> stock, Map<String, String> locations) {
+        jdbcClient.sql("DELETE FROM warehouse_stock WHERE sku = :sku").param("sku", sku).update();
+
+        String sql = """
+            INSERT INTO warehouse_stock (sku, warehouse_id, quantity, location)
+            VALUES (:sku, :warehouseId, :quantity, :location)
+            """;
+        stock.forEach((warehouseId, quantity) -> jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("warehouseId", warehouseId)
+            .param("quantity", quantity)
+            .param("location", locations != null ? locations.get(warehouseId) : null)
+            .update());
+    }
+
+    /**
+     * Applies a signed stock change, creating the warehouse row if needed. Stock never goes below zero.
+     */
+    public void applyDelta(String sku, String warehouseId, int delta) {
+        String sql = """
+            MERGE INTO warehouse_stock w
+            USING (VALUES (CAST(:sku AS VARCHAR(100)), CAST(:warehouseId AS VARCHAR(100)))) AS s(sku, warehouse_id)
+            ON w.sku = s.sku AND w.warehouse_id = s.warehouse_id
+            WHEN MATCHED THEN UPDATE SET
+                quantity = GREATEST(0, w.quantity + :delta),
+                updated_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (sku, warehouse_id, quantity)
+                VALUES (s.sku, s.warehouse_id, GREATEST(0, :delta))
+            """;
+
+        jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("warehouseId", warehouseId)
+            .param("delta", delta)
+            .update();
+    }
+
+    /**
+     * Log id up to which each SKU's last full read already includes the journal's events
+     */
+    public Map<String, Long> findSeededThrough(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return Map.of();
+        }
+        return jdbcClient.sql("SELECT sku, seeded_through FROM warehouse_stock_seeds WHERE sku IN (:skus)")
+            .param("skus", skus)
+            .query((rs, rowNum) -> Map.entry(rs.getString("sku"), rs.getLong("seeded_through")))
+            .list()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    public void saveSeededThrough(String sku, long logId) {
+        String sql = """
+            MERGE INTO warehouse_stock_seeds (sku, seeded_through, updated_at)
+            KEY (sku)
+            VALUES (:sku, :logId, CURRENT_TIMESTAMP)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("sku", sku)
+            .param("logId", logId)
+            .update();
+    }
+
+    /**
+     * Drops seed positions the journal cursor has passed; no unapplied event can fall under them any more
+     */
+    public void deleteSeededThrough(long cursor) {
+        jdbcClient.sql("DELETE FROM warehouse_stock_seeds WHERE seeded_through <= :cursor")
+            .param("cursor", cursor)
+            .update();
+    }
+
+    public Optional<Long> findCursor(String journal) {
+        return jdbcClient.sql("SELECT last_log_id FROM journal_cursors WHERE journal = :journal")
+            .param("journal", journal)
+            .query(Long.class)
+            .optional();
+    }
+
+    public void saveCursor(String journal, long lastLogId) {
+        String sql = """
+            MERGE INTO journal_cursors (journal, last_log_id, updated_at)
+            KEY (journal)
+            VALUES (:journal, :lastLogId, CURRENT_TIMESTAMP)
+            """;
+
+        jdbcClient.sql(sql)
+            .param("journal", journal)
+            .param("lastLogId", lastLogId)
+            .update();
+    }
+}
@@ -0,0 +1,296 @@
+package com.aiadviser.scheduled;
+
+import com.aiadviser.client.BaselinkerClient;
+import com.aiadviser.config.StockJournalConfig;
+import com.aiadviser.lock.JobLock;
+import com.aiadviser.model.StockData;
+import com.aiadviser.model.WarehouseStock;
+import com.aiadviser.model.baselinker.BaselinkerJournalEvent;
+import com.aiadviser.model.baselinker.BaselinkerJournalResponse;
+import com.aiadviser.model.baselinker.BaselinkerProduct;
+import com.aiadviser.model.baselinker.BaselinkerProductsResponse;
+import com.aiadviser.repository.WarehouseStockRepository;
+import com.aiadviser.service.InventoryStateStore;
+import com.aiadviser.service.WarehouseStockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the Baselinker inventory journal and keeps warehouse_stock current.
+ * <p>
+ * The first run records the journal head, loads every product's stock in full and stores the head
+ * as the cursor. Every later poll reads events after the persisted log id in batches, applies their
+ * deltas and advances the cursor in the same transaction, so a restart resumes exactly where the
+ * last committed batch ended and catches up batch by batch. SKUs the table has not seen yet are
+ * loaded in full instead of from their deltas; a full read may already contain later events, so the
+ * log id it is known to include is stored in warehouse_stock_seeds and the SKU's events up to there
+ * are skipped. Runs on one node at a time via the job lock.
+ */
+@Component
+public class BaselinkerJournalConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(BaselinkerJournalConsumer.class);
+    private static final String JOB_NAME = "baselinker-stock-journal";
+    private static final int JOURNAL_PAGE_SIZE = 100;
+    private static final int MAX_SEED_ATTEMPTS = 3;
+
+    private final BaselinkerClient baselinkerClient;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final InventoryStateStore inventoryStateStore;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLock jobLock;
+    private final StockJournalConfig config;
+    private final Counter appliedEvents;
+    private final Timer batchTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public BaselinkerJournalConsumer(
+            BaselinkerClient baselinkerClient,
+            WarehouseStockRepository warehouseStockRepository,
+            InventoryStateStore inventoryStateStore,
+            TransactionTemplate transactionTemplate,
+            JobLock jobLock,
+            StockJournalConfig config,
+            MeterRegistry meterRegistry
+    ) {
+        this.baselinkerClient = baselinkerClient;
+        this.warehouseStockRepository = warehouseStockRepository;
+        this.inventoryStateStore = inventoryStateStore;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLock = jobLock;
+        this.config = config;
+        this.appliedEvents = meterRegistry.counter("stock_journal.events");
+        this.batchTimer = meterRegistry.timer("stock_journal.batch");
+        meterRegistry.gauge("stock_journal.lag.seconds", lagSeconds);
+    }
+
+    @Scheduled(
+        initialDelayString = "${stock-journal.poll-interval:PT5S}",
+        fixedDelayString = "${stock-journal.poll-interval:PT5S}"
+    )
+    public void poll() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            jobLock.runExclusively(JOB_NAME, this::consume);
+        } catch (Exception e) {
+            log.warn("Stock journal poll failed, will resume from the last committed log id: {}", e.getMessage());
+        }
+    }
+
+    private void consume() {
+        Long cursor = warehouseStockRepository.findCursor(WarehouseStockService.JOURNAL).orElse(null);
+        if (cursor == null) {
+            bootstrap();
+            return;
+        }
+
+        long lastLogId = cursor;
+        for (int batch = 0; batch < config.getMaxBatchesPerPoll(); batch++) {
+            List<BaselinkerJournalEvent> events = fetchAfter(lastLogId);
+            if (events.isEmpty()) {
+                lagSeconds.set(0);
+                return;
+            }
+            lastLogId = batchTimer.record(() -> applyBatch(events));
+
+            BaselinkerJournalEvent newest = events.get(events.size() - 1);
+            if (newest.date() != null) {
+                lagSeconds.set(Math.max(0, System.currentTimeMillis() / 1000 - newest.date()));
+            }
+            if (events.size() < JOURNAL_PAGE_SIZE) {
+                return;
+            }
+        }
+        log.info("Stock journal still behind after {} batches, continuing next poll from log id {}",
+            config.getMaxBatchesPerPoll(), lastLogId);
+    }
+
+    /**
+     * Applies one batch and advances the cursor atomically; returns the new cursor
+     */
+    private long applyBatch(List<BaselinkerJournalEvent> events) {
+        Set<String> skus = new LinkedHashSet<>();
+        events.forEach(event -> skus.add(event.sku()));
+        long newCursor = events.get(events.size() - 1).logId();
+
+        // SKUs the table has not seen are read in full before the transaction. A read can already include
+        // events after this batch, so each records the log id it is known to include up to.
+        Map<String, SeededStock> seeded = new HashMap<>();
+        Long head = null;
+        for (String sku : skus) {
+            if (warehouseStockRepository.existsForSku(sku)) {
+                continue;
+            }
+            if (head == null) {
+                head = readTail(newCursor).head();
+            }
+            Optional<SeededStock> seed = seed(sku, head);
+            if (seed.isPresent()) {
+                seeded.put(sku, seed.get());
+                head = seed.get().seededThrough();
+            }
+        }
+
+        Map<String, Long> seededThrough = new HashMap<>(warehouseStockRepository.findSeededThrough(skus));
+        seeded.forEach((sku, seed) -> seededThrough.put(sku, seed.seededThrough()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            seeded.forEach((sku, seed) -> {
+                warehouseStockRepository.replaceForSku(sku, stockOf(seed.product()), seed.product().locations());
+                warehouseStockRepository.saveSeededThrough(sku, seed.seededThrough());
+            });
+            for (BaselinkerJournalEvent event : events) {
+                if (event.logId() > seededThrough.getOrDefault(event.sku(), Long.MIN_VALUE)) {
+                    warehouseStockRepository.applyDelta(event.sku(), event.warehouseId(), event.quantityChange());
+                }
+            }
+            warehouseStockRepository.saveCursor(WarehouseStockService.JOURNAL, newCursor);
+            warehouseStockRepository.deleteSeededThrough(newCursor);
+        });
+
+        appliedEvents.increment(events.size());
+        skus.forEach(this::publishToStateStore);
+        return newCursor;
+    }
+
+    /**
+     * Loads every product in full with the cursor at the journal head read before the catalog.
+     * Events that land while the catalog is read may or may not be in it, so their SKUs are read
+     * again one by one and their events up to that read are skipped later.
+     */
+    private void bootstrap() {
+        long head = readTail(0).head();
+
+        BaselinkerProductsResponse response = baselinkerClient.fetchAllProducts();
+        if (!"SUCCESS".equals(response.status()) || response.products() == null) {
+            throw new IllegalStateException("Baselinker inventory read failed: " + response.status());
+        }
+
+        JournalTail duringRead = readTail(head);
+        Map<String, SeededStock> reseeded = new HashMap<>();
+        long seedHead = duringRead.head();
+        for (String sku : duringRead.skus()) {
+            Optional<SeededStock> seed = seed(sku, seedHead);
+            if (seed.isPresent()) {
+                reseeded.put(sku, seed.get());
+                seedHead = seed.get().seededThrough();
+            }
+        }
+
+        long cursor = head;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (BaselinkerProduct product : response.products().values()) {
+                if (product.sku() != null && !reseeded.containsKey(product.sku())) {
+                    warehouseStockRepository.replaceForSku(product.sku(), stockOf(product), product.locations());
+                }
+            }
+            reseeded.forEach((sku, seed) -> {
+                warehouseStockRepository.replaceForSku(sku, stockOf(seed.product()), seed.product().locations());
+                warehouseStockRepository.saveSeededThrough(sku, seed.seededThrough());
+            });
+            warehouseStockRepository.saveCursor(WarehouseStockService.JOURNAL, cursor);
+        });
+        log.info("Bootstrapped local stock for {} products from Baselinker, journal cursor at {} ({} re-read)",
+            response.products().size(), cursor, reseeded.size());
+    }
+
+    /**
+     * Reads one SKU in full so that the result holds exactly its journal events up to the returned
+     * seededThrough. head must be a log id read before the call. The journal is read to its end after
+     * the product, and the product is read again while the SKU has events past the head known before it.
+     * Empty when Baselinker does not know the SKU; its stock is then built from deltas.
+     */
+    private Optional<SeededStock> seed(String sku, long head) {
+        long before = head;
+        for (int attempt = 0; attempt < MAX_SEED_ATTEMPTS; attempt++) {
+            Optional<BaselinkerProduct> product = findProduct(baselinkerClient.fetchInventoryProductData(sku), sku);
+            if (product.isEmpty()) {
+                return Optional.empty();
+            }
+            JournalTail tail = readTail(before);
+            if (!tail.skus().contains(sku)) {
+                return Optional.of(new SeededStock(product.get(), tail.head()));
+            }
+            before = tail.head();
+        }
+        throw new IllegalStateException("Stock of " + sku + " kept changing across " + MAX_SEED_ATTEMPTS + " full reads");
+    }
+
+    /**
+     * Pages through the journal after lastLogId to its current end, keeping only the head and the SKUs seen
+     */
+    private JournalTail readTail(long lastLogId) {
+        long head = lastLogId;
+        Set<String> skus = new HashSet<>();
+        List<BaselinkerJournalEvent> events;
+        do {
+            events = fetchAfter(head);
+            for (BaselinkerJournalEvent event : events) {
+                skus.add(event.sku());
+            }
+            if (!events.isEmpty()) {
+                head = events.get(events.size() - 1).logId();
+            }
+        } while (events.size() >= JOURNAL_PAGE_SIZE);
+        return new JournalTail(head, skus);
+    }
+
+    private List<BaselinkerJournalEvent> fetchAfter(long lastLogId) {
+        BaselinkerJournalResponse response = baselinkerClient.fetchJournal(lastLogId);
+        if (!"SUCCESS".equals(response.status())) {
+            throw new IllegalStateException("Baselinker journal read failed: " + response.status());
+        }
+        if (response.logs() == null) {
+            return List.of();
+        }
+        return response.logs().stream()
+            .filter(event -> event.logId() != null && event.logId() > lastLogId)
+            .filter(event -> event.sku() != null && event.warehouseId() != null && event.quantityChange() != null)
+            .sorted(Comparator.comparing(BaselinkerJournalEvent::logId))
+            .toList();
+    }
+
+    /**
+     * Keeps in-memory state on this node in step with the table, so reads see the change immediately
+     */
+    private void publishToStateStore(String sku) {
+        List<WarehouseStock> stock = warehouseStockRepository.findBySku(sku);
+        int total = stock.stream().mapToInt(WarehouseStock::quantity).sum();
+        inventoryStateStore.updateStock(new StockData(sku, total, WarehouseStockService.describe(stock)));
+    }
+
+    private static Optional<BaselinkerProduct> findProduct(BaselinkerProductsResponse response, String sku) {
+        if (response.products() == null) {
+            return Optional.empty();
+        }
+        return response.products().values().stream().filter(p -> sku.equals(p.sku())).findFirst();
+    }
+
+    private static Map<String, Integer> stockOf(BaselinkerProduct product) {
+        return product.stock() != null ? product.stock() : Map.of();
+    }
+
+    private record SeededStock(BaselinkerProduct product, long seededThrough) {
+    }
+
+    private record JournalTail(long head, Set<String> skus) {
+    }
+}
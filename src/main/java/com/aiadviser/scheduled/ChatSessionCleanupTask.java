@@ -1,27 +1,89 @@
 package com.aiadviser.scheduled;
 
+import com.aiadviser.config.ChatSessionConfig;
+import com.aiadviser.lock.JobLock;
 import com.aiadviser.repository.ChatSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired chat sessions in bounded chunks with a pause between them, instead of one
+ * unbounded DELETE. A run stops after max-chunks-per-run; anything left is the backlog for the next run.
+ * Runs on one node at a time via the job lock.
+ */
 @Component
 public class ChatSessionCleanupTask {
 
     private static final Logger log = LoggerFactory.getLogger(ChatSessionCleanupTask.class);
+    private static final String JOB_NAME = "chat-session-cleanup";
+
     private final ChatSessionRepository chatSessionRepository;
+    private final JobLock jobLock;
+    private final ChatSessionConfig.Expiry config;
+    private final Timer chunkTimer;
+    private final Counter deletedCounter;
+    private final AtomicLong backlog = new AtomicLong();
 
-    public ChatSessionCleanupTask(ChatSessionRepository chatSessionRepository) {
+    public ChatSessionCleanupTask(
+            ChatSessionRepository chatSessionRepository,
+            JobLock jobLock,
+            ChatSessionConfig config,
+            MeterRegistry meterRegistry
+    ) {
         this.chatSessionRepository = chatSessionRepository;
+        this.jobLock = jobLock;
+        this.config = config.getExpiry();
+        this.chunkTimer = Timer.builder("chat_sessions.expiry.chunk")
+            .description("Latency of one chunked expired-session DELETE")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.deletedCounter = meterRegistry.counter("chat_sessions.expiry.deleted");
+        meterRegistry.gauge("chat_sessions.expiry.backlog", backlog);
     }
 
-    @Scheduled(fixedRate = 3600000)
+    @Scheduled(
+        initialDelayString = "${chat-sessions.expiry.interval:PT1M}",
+        fixedDelayString = "${chat-sessions.expiry.interval:PT1M}"
+    )
     public void cleanupExpiredSessions() {
-        log.info("Running chat session cleanup task...");
-        int deleted = chatSessionRepository.deleteExpired();
-        if (deleted > 0) {
-            log.info("Deleted {} expired chat session(s)", deleted);
+        jobLock.runExclusively(JOB_NAME, this::deleteExpiredInChunks);
+    }
+
+    private void deleteExpiredInChunks() {
+        int chunkSize = Math.max(1, config.getChunkSize());
+        long pauseMillis = config.getPauseBetweenChunks().toMillis();
+        int totalDeleted = 0;
+        int chunks = 0;
+
+        try {
+            while (chunks < config.getMaxChunksPerRun()) {
+                if (chunks > 0 && pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+                int deleted = chunkTimer.record(() -> chatSessionRepository.deleteExpiredChunk(chunkSize));
+                chunks++;
+                totalDeleted += deleted;
+                deletedCounter.increment(deleted);
+                if (deleted < chunkSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            backlog.set(chatSessionRepository.countExpired());
+        }
+
+        if (totalDeleted > 0) {
+            log.info("Deleted {} expired chat session(s) in {} chunk(s), {} still expired",
+                totalDeleted, chunks, backlog.get());
         } else {
             log.debug("No expired chat sessions to delete");
         }
@@ -0,0 +1,347 @@
+package com.aiadviser.service;
+
+import com.aiadviser.config.AdviceBatchConfig;
+import com.aiadviser.lock.JobLock;
+import com.aiadviser.model.AdviceBatchRun;
+import com.aiadviser.model.AdviceResponse;
+import com.aiadviser.model.ProductData;
+import com.aiadviser.model.ProductSort;
+import com.aiadviser.repository.AdviceBatchRepository;
+import com.aiadviser.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Computes advice for every SKU ahead of the business day.
+ * <p>
+ * A run walks product_data in SKU order, chunk-size SKUs at a time, computing advice for a chunk on
+ * concurrency workers. After each chunk its results and the checkpoint (the chunk's last SKU) are
+ * committed in one transaction, so a run interrupted by a crash or shutdown resumes after the last
+ * committed chunk; at most one chunk is computed twice. Runs still marked running are resumed by a
+ * periodic check, on this node after a restart or on another one once the holder's lease lapses.
+ * SKUs are started no faster than the quota-derived rate, and a run that reaches the end of its
+ * window is marked expired after the chunk in flight. Runs on one node at a time via the job lock.
+ */
+@Service
+public class AdviceBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdviceBatchService.class);
+    private static final String JOB_NAME = "nightly-advice";
+
+    private final AdviceService adviceService;
+    private final ProductRepository productRepository;
+    private final AdviceBatchRepository adviceBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLock jobLock;
+    private final AdviceBatchConfig config;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer chunkTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    private volatile Thread runner;
+    private volatile double skusPerSecond;
+
+    public AdviceBatchService(
+            AdviceService adviceService,
+            ProductRepository productRepository,
+            AdviceBatchRepository adviceBatchRepository,
+            TransactionTemplate transactionTemplate,
+            JobLock jobLock,
+            AdviceBatchConfig config,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.adviceService = adviceService;
+        this.productRepository = productRepository;
+        this.adviceBatchRepository = adviceBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLock = jobLock;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.chunkTimer = meterRegistry.timer("advice.batch.chunk");
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gauge("advice.batch.rate", this, service -> service.skusPerSecond);
+    }
+
+    @Scheduled(cron = "${advice.batch.cron:0 0 2 * * *}")
+    public void runNightly() {
+        if (config.isEnabled()) {
+            trigger(LocalDate.now());
+        }
+    }
+
+    /**
+     * Picks up runs left unfinished by a restart, or by another node whose lease has lapsed
+     */
+    @Scheduled(
+        initialDelayString = "${advice.batch.resume-interval:PT1M}",
+        fixedDelayString = "${advice.batch.resume-interval:PT1M}"
+    )
+    public void resumeUnfinished() {
+        if (!config.isEnabled() || running.get()) {
+            return;
+        }
+        try {
+            for (AdviceBatchRun run : adviceBatchRepository.findRunning()) {
+                if (LocalDateTime.now().isAfter(run.deadlineAt())) {
+                    adviceBatchRepository.finishRun(run.runDate(), AdviceBatchRun.Status.EXPIRED);
+                    log.info("Unfinished nightly advice run for {} is past its window, marked expired", run.runDate());
+                } else {
+                    trigger(run.runDate());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not look up unfinished nightly advice runs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Starts or resumes the run for runDate in the background.
+     * Returns false if a run is already in progress on this node, or runDate's run has already finished.
+     * The scheduler thread is shared with other jobs, so runs never execute on it.
+     */
+    public boolean trigger(LocalDate runDate) {
+        AdviceBatchRun existing = adviceBatchRepository.findRun(runDate).orElse(null);
+        if (existing != null && existing.status() != AdviceBatchRun.Status.RUNNING) {
+            return false;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        runner = Thread.ofVirtual().name("advice-batch").start(() -> {
+            try {
+                if (!jobLock.runExclusively(JOB_NAME, () -> execute(runDate))) {
+                    log.info("Nightly advice run is held by another node, skipping it here");
+                }
+            } catch (Exception e) {
+                log.error("Nightly advice run for {} failed, it will resume from its last checkpoint: {}",
+                    runDate, e.getMessage(), e);
+            } finally {
+                runner = null;
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Optional<AdviceBatchRun> findLatestRun() {
+        return adviceBatchRepository.findLatestRun();
+    }
+
+    public Optional<AdviceResponse> findResult(String sku) {
+        return adviceBatchRepository.findResult(sku).map(json -> {
+            try {
+                return objectMapper.readValue(json, AdviceResponse.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable nightly advice for " + sku, e);
+            }
+        });
+    }
+
+    /**
+     * Abandons the chunk in flight; the run resumes from its last checkpoint
+     */
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        Thread current = runner;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void execute(LocalDate runDate) {
+        AdviceBatchRun run = adviceBatchRepository.findRun(runDate).orElse(null);
+        if (run == null) {
+            LocalDateTime now = LocalDateTime.now();
+            adviceBatchRepository.insertRun(runDate, now, now.plus(config.getWindow()));
+            run = adviceBatchRepository.findRun(runDate).orElseThrow();
+            warnIfWindowTooShort();
+            log.info("Starting nightly advice run for {}, window ends at {}", runDate, run.deadlineAt());
+        } else if (run.status() != AdviceBatchRun.Status.RUNNING) {
+            log.info("Nightly advice run for {} already {}", runDate, run.status());
+            return;
+        } else {
+            log.info("Resuming nightly advice run for {} after SKU {}", runDate, run.lastSku());
+        }
+
+        String lastSku = run.lastSku();
+        int chunkSize = Math.max(1, config.getChunkSize());
+        Pacer pacer = new Pacer(config.skusPerSecond());
+        int processed = 0;
+        long processingNanos = 0;
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, config.getConcurrency()),
+                Thread.ofVirtual().name("advice-batch-", 0).factory())) {
+            while (true) {
+                if (stopping) {
+                    log.info("Stopping nightly advice run for {} after SKU {}, it will resume from there",
+                        runDate, lastSku);
+                    return;
+                }
+                if (LocalDateTime.now().isAfter(run.deadlineAt())) {
+                    adviceBatchRepository.finishRun(runDate, AdviceBatchRun.Status.EXPIRED);
+                    log.warn("Nightly advice run for {} ran out of its {} window after SKU {}",
+                        runDate, config.getWindow(), lastSku);
+                    break;
+                }
+
+                List<ProductData> chunk = productRepository.findPage(ProductSort.SKU, false, null, lastSku, chunkSize);
+                if (chunk.isEmpty()) {
+                    adviceBatchRepository.finishRun(runDate, AdviceBatchRun.Status.COMPLETED);
+                    break;
+                }
+
+                long startedAt = System.nanoTime();
+                Map<String, String> results = processChunk(chunk, workers, pacer);
+                long elapsedNanos = System.nanoTime() - startedAt;
+                chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+                String chunkLastSku = chunk.get(chunk.size() - 1).sku();
+                int failed = chunk.size() - results.size();
+                transactionTemplate.executeWithoutResult(status -> {
+                    adviceBatchRepository.saveResults(runDate, results);
+                    adviceBatchRepository.saveCheckpoint(runDate, chunkLastSku, results.size(), failed,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+                });
+                lastSku = chunkLastSku;
+
+                meterRegistry.counter("advice.batch.skus", "outcome", "succeeded").increment(results.size());
+                meterRegistry.counter("advice.batch.skus", "outcome", "failed").increment(failed);
+                processed += chunk.size();
+                processingNanos += elapsedNanos;
+                skusPerSecond = processed * 1_000_000_000.0 / processingNanos;
+            }
+        } catch (InterruptedException e) {
+            // Not re-asserted: the thread ends here, and the job lock still has to release its lease over JDBC
+            log.info("Nightly advice run for {} interrupted after SKU {}, it will resume from there", runDate, lastSku);
+            return;
+        }
+
+        adviceBatchRepository.findRun(runDate).ifPresent(finished -> log.info(
+            "Nightly advice run for {} {}: {} SKUs advised, {} failed in {} s ({} SKUs/s)",
+            runDate, finished.status(), finished.processed(), finished.failed(),
+            finished.elapsedMillis() / 1000, String.format("%.2f", finished.skusPerSecond())));
+    }
+
+    /**
+     * Computes advice for a chunk; returns the advice JSON per SKU that succeeded, in chunk order
+     */
+    private Map<String, String> processChunk(List<ProductData> chunk, ExecutorService workers, Pacer pacer)
+            throws InterruptedException {
+        List<Future<String>> futures = new ArrayList<>(chunk.size());
+        for (ProductData product : chunk) {
+            futures.add(workers.submit(() -> {
+                pacer.acquire();
+                return advise(product.sku());
+            }));
+        }
+
+        Map<String, String> results = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String sku = chunk.get(i).sku();
+            try {
+                String advice = futures.get(i).get();
+                if (advice != null) {
+                    results.put(sku, advice);
+                }
+            } catch (ExecutionException e) {
+                log.warn("Nightly advice failed for {}: {}", sku, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Advice JSON for a SKU, or null when the analysis came back as an error
+     */
+    private String advise(String sku) throws JsonProcessingException {
+        AdviceResponse advice = adviceService.getAdvice(sku);
+        if (advice.recommendations().containsKey("error")) {
+            log.warn("Nightly advice for {} got no analysis: {}", sku, advice.recommendations().get("details"));
+            return null;
+        }
+        return objectMapper.writeValueAsString(advice);
+    }
+
+    private void warnIfWindowTooShort() {
+        double rate = config.skusPerSecond();
+        if (rate <= 0) {
+            return;
+        }
+        Duration estimate = Duration.ofSeconds((long) (productRepository.count() / rate));
+        if (estimate.compareTo(config.getWindow()) > 0) {
+            log.warn("At {} SKUs/s the catalog needs about {}, longer than the {} window; the run will expire",
+                String.format("%.2f", rate), estimate, config.getWindow());
+        }
+    }
+
+    /**
+     * Spaces SKU starts evenly at a fixed rate across all workers; a rate of 0 disables pacing
+     */
+    private static final class Pacer {
+
+        private final long intervalNanos;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long nextSlot = System.nanoTime();
+
+        Pacer(double perSecond) {
+            this.intervalNanos = perSecond > 0 ? (long) (1_000_000_000L / perSecond) : 0;
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long slot;
+            lock.lock();
+            try {
+                slot = Math.max(System.nanoTime(), nextSlot);
+                nextSlot = slot + intervalNanos;
+            } finally {
+                lock.unlock();
+            }
+            long waitNanos = slot - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
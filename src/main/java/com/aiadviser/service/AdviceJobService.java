@@ -0,0 +1,159 @@
+package com.aiadviser.service;
+
+import com.aiadviser.concurrent.TimingWheel;
+import com.aiadviser.config.AdviceJobConfig;
+import com.aiadviser.model.AdviceJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs advice requests as jobs on a bounded worker pool, so slow LLM round trips do not hold HTTP
+ * connections. A job for a SKU that already has one queued or running is coalesced into it.
+ * When every worker is busy and the queue is full, submissions are refused rather than queued
+ * without bound. Finished jobs are dropped by a timing wheel once advice.jobs.result-ttl passes.
+ */
+@Service
+public class AdviceJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdviceJobService.class);
+
+    private final AdviceService adviceService;
+    private final AdviceJobConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, TrackedJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, String> activeBySku = new ConcurrentHashMap<>();
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private final TimingWheel<String> retentionWheel;
+    private final Timer queueWait;
+    private final Timer runTime;
+
+    public AdviceJobService(AdviceService adviceService, AdviceJobConfig config, MeterRegistry meterRegistry) {
+        this.adviceService = adviceService;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(
+            config.getWorkers(), config.getWorkers(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()),
+            Thread.ofPlatform().name("advice-job-", 0).daemon().factory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.retentionWheel = new TimingWheel<>("advice-job-retention", Duration.ofSeconds(1), 512, jobs::remove);
+        this.queueWait = meterRegistry.timer("advice.jobs.queue.wait");
+        this.runTime = meterRegistry.timer("advice.jobs.run");
+
+        meterRegistry.gauge("advice.jobs.queue.depth", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("advice.jobs.active", executor, ThreadPoolExecutor::getActiveCount);
+        meterRegistry.gauge("advice.jobs.retained", jobs, Map::size);
+    }
+
+    /**
+     * Queues advice for a SKU, or returns the job already queued or running for it.
+     * Empty when the pool and its queue are full.
+     */
+    public Optional<AdviceJob> submit(String sku) {
+        submitLock.lock();
+        try {
+            String activeId = activeBySku.get(sku);
+            TrackedJob active = activeId != null ? jobs.get(activeId) : null;
+            if (active != null) {
+                count("coalesced");
+                return Optional.of(active.job);
+            }
+
+            TrackedJob tracked = new TrackedJob(AdviceJob.queued(UUID.randomUUID().toString(), sku));
+            jobs.put(tracked.job.id(), tracked);
+            activeBySku.put(sku, tracked.job.id());
+            try {
+                executor.execute(() -> run(tracked));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(tracked.job.id());
+                activeBySku.remove(sku, tracked.job.id());
+                count("rejected");
+                return Optional.empty();
+            }
+            count("submitted");
+            return Optional.of(tracked.job);
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    public Optional<AdviceJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(tracked -> tracked.job);
+    }
+
+    /**
+     * Completes with the finished job, or with its state at that moment once the wait runs out.
+     * Empty for unknown or expired jobs.
+     */
+    public Optional<CompletableFuture<AdviceJob>> awaitCompletion(String id, Duration wait) {
+        TrackedJob tracked = jobs.get(id);
+        if (tracked == null) {
+            return Optional.empty();
+        }
+        return Optional.of(tracked.done.copy()
+            .completeOnTimeout(null, Math.max(0, wait.toMillis()), TimeUnit.MILLISECONDS)
+            .thenApply(finished -> finished != null ? finished : tracked.job));
+    }
+
+    private void run(TrackedJob tracked) {
+        long startedAt = System.nanoTime();
+        queueWait.record(Duration.ofNanos(startedAt - tracked.queuedAt));
+        tracked.job = tracked.job.running();
+        String sku = tracked.job.sku();
+
+        AdviceJob finished;
+        try {
+            finished = tracked.job.succeeded(adviceService.getAdvice(sku));
+            count("succeeded");
+        } catch (Exception e) {
+            finished = tracked.job.failed(e.getMessage());
+            count("failed");
+            log.warn("Advice job {} for {} failed: {}", tracked.job.id(), sku, e.getMessage());
+        }
+        runTime.record(Duration.ofNanos(System.nanoTime() - startedAt));
+
+        tracked.job = finished;
+        activeBySku.remove(sku, finished.id());
+        retentionWheel.schedule(finished.id(), System.currentTimeMillis() + config.getResultTtl().toMillis());
+        tracked.done.complete(finished);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("advice.jobs", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        retentionWheel.close();
+    }
+
+    private static final class TrackedJob {
+        private final long queuedAt = System.nanoTime();
+        private final CompletableFuture<AdviceJob> done = new CompletableFuture<>();
+        private volatile AdviceJob job;
+
+        private TrackedJob(AdviceJob job) {
+            this.job = job;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.aiadviser.service;
+
+import com.aiadviser.cache.CacheStore;
+import com.aiadviser.config.AdviceInvalidationConfig;
+import com.aiadviser.model.AdviceFingerprint;
+import com.aiadviser.model.AdviceResponse;
+import com.aiadviser.model.FinancialMetrics;
+import com.aiadviser.model.LLMAnalysis;
+import com.aiadviser.model.LLMInputData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds AI advice for a SKU. The LLM recommendations are cached per SKU together with the
+ * fingerprint of the inputs they were computed from, and only recomputed once the current
+ * fingerprint drifts beyond the advice.invalidation thresholds. Financial metrics are always
+ * recalculated from current data. Cached advice lives in the configured CacheStore, so with the
+ * shared store every replica reuses advice computed by any of them. Advice computed with a
+ * different prompt version than the one the SKU is now assigned is recomputed as well.
+ */
+@Service
+public class AdviceService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdviceService.class);
+    private static final String CACHE_REGION = "advice";
+
+    private final DataAggregatorService dataAggregatorService;
+    private final ClaudeService claudeService;
+    private final FinancialForecastService financialForecastService;
+    private final AdviceInvalidationConfig invalidationConfig;
+    private final CacheStore cacheStore;
+    private final ProductChangeFeed productChangeFeed;
+
+    public AdviceService(
+            DataAggregatorService dataAggregatorService,
+            ClaudeService claudeService,
+            FinancialForecastService financialForecastService,
+            AdviceInvalidationConfig invalidationConfig,
+            CacheStore cacheStore,
+            ProductChangeFeed productChangeFeed
+    ) {
+        this.dataAggregatorService = dataAggregatorService;
+        this.claudeService = claudeService;
+        this.financialForecastService = financialForecastService;
+        this.invalidationConfig = invalidationConfig;
+        this.cacheStore = cacheStore;
+        this.productChangeFeed = productChangeFeed;
+    }
+
+    public AdviceResponse getAdvice(String sku) {
+        LLMInputData aggregatedData = dataAggregatorService.aggregateDataForLLM(sku);
+        AdviceFingerprint fingerprint = AdviceFingerprint.of(aggregatedData, LocalDate.now());
+
+        CachedAdvice cached = cacheStore.get(CACHE_REGION, sku, CachedAdvice.class).orElse(null);
+        boolean reuse = cached != null
+            && claudeService.analysisPromptVersion(sku).equals(cached.promptVersion())
+            && !isStale(cached, fingerprint);
+        Map<String, Object> recommendations;
+        String promptVersion;
+        if (reuse) {
+            recommendations = cached.recommendations();
+            promptVersion = cached.promptVersion();
+            log.debug("Reusing advice for {} computed at {}", sku, cached.computedAt());
+        } else {
+            LLMAnalysis analysis = claudeService.analyzeProductData(aggregatedData);
+            recommendations = analysis.recommendations();
+            promptVersion = analysis.promptVersion();
+            if (!recommendations.containsKey("error")) {
+                cacheStore.put(CACHE_REGION, sku,
+                    new CachedAdvice(fingerprint, recommendations, promptVersion, LocalDateTime.now()),
+                    invalidationConfig.getMaxAge());
+                productChangeFeed.markChanged(sku);
+            }
+        }
+
+        int daysUntilStockout = extractIntValue(recommendations, "daysUntilStockout", 30);
+        int suggestedOrderQuantity = extractIntValue(recommendations, "suggestedOrderQuantity", 0);
+
+        FinancialMetrics financialMetrics = financialForecastService.calculateFinancialMetrics(
+            aggregatedData,
+            daysUntilStockout,
+            suggestedOrderQuantity
+        );
+
+        String analysis = String.format(
+            "Analysis for %s (%s) - Current stock: %d units, Lead time: %d days",
+            aggregatedData.productName(),
+            aggregatedData.sku(),
+            aggregatedData.currentStock().quantity(),
+            aggregatedData.leadTimeDays()
+        );
+
+        Integer ttlHours = extractIntValue(recommendations, "ttlHours", 24);
+
+        return new AdviceResponse(
+            sku,
+            analysis,
+            recommendations,
+            financialMetrics,
+            LocalDateTime.now().toString(),
+            ttlHours,
+            reuse,
+            promptVersion
+        );
+    }
+
+    public void invalidate(String sku) {
+        cacheStore.evict(CACHE_REGION, sku);
+        productChangeFeed.markChanged(sku);
+    }
+
+    /**
+     * When the advice currently reused for the SKU was computed, if there is any
+     */
+    public Optional<LocalDateTime> computedAt(String sku) {
+        return cacheStore.get(CACHE_REGION, sku, CachedAdvice.class).map(CachedAdvice::computedAt);
+    }
+
+    private boolean isStale(CachedAdvice cached, AdviceFingerprint current) {
+        if (!invalidationConfig.isEnabled()) {
+            return true;
+        }
+        if (cached.computedAt().plus(invalidationConfig.getMaxAge()).isBefore(LocalDateTime.now())) {
+            return true;
+        }
+        AdviceFingerprint previous = cached.fingerprint();
+
+        // Selling out always changes the advice, however small the absolute move
+        if (previous.stockQuantity() > 0 && current.stockQuantity() <= 0) {
+            return true;
+        }
+        int stockDelta = Math.abs(current.stockQuantity() - previous.stockQuantity());
+        if (stockDelta > Math.max(invalidationConfig.getStockChangeMinUnits(),
+                previous.stockQuantity() * invalidationConfig.getStockChangeRatio())) {
+            return true;
+        }
+        if (velocityDrifted(previous.velocity7d(), current.velocity7d())
+                || velocityDrifted(previous.velocity30d(), current.velocity30d())) {
+            return true;
+        }
+        if (relativeChange(previous.cogs(), current.cogs()) > invalidationConfig.getCogsChangeRatio()) {
+            return true;
+        }
+        return Math.abs(current.leadTimeDays() - previous.leadTimeDays()) >= invalidationConfig.getLeadTimeChangeDays();
+    }
+
+    private boolean velocityDrifted(BigDecimal previous, BigDecimal current) {
+        BigDecimal delta = current.subtract(previous).abs();
+        return delta.compareTo(invalidationConfig.getVelocityChangeMinUnits()) > 0
+            && relativeChange(previous, current) > invalidationConfig.getVelocityChangeRatio();
+    }
+
+    private static double relativeChange(BigDecimal previous, BigDecimal current) {
+        if (previous.signum() == 0) {
+            return current.signum() == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return current.subtract(previous).abs().doubleValue() / previous.abs().doubleValue();
+    }
+
+    private int extractIntValue(Map<String, Object> map, String key, int defaultValue) {
+        Object value = map.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private record CachedAdvice(
+        AdviceFingerprint fingerprint,
+        Map<String, Object> recommendations,
+        String promptVersion,
+        LocalDateTime computedAt
+    ) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.aiadviser.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the catalog's sales and stock data.
+ * Anything that changes product, stock or sales data bumps the version,
+ * so derived results can be cached until the version moves.
+ * The version restarts with the JVM, so anything exported (e.g. ETags) must include the epoch as well.
+ */
+@Component
+public class CatalogVersionTracker {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public long markChanged() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,203 @@
+package com.aiadviser.service;
+
+import com.aiadviser.concurrent.TimingWheel;
+import com.aiadviser.config.ChatSessionConfig;
+import com.aiadviser.model.ChatInputSnapshot;
+import com.aiadviser.model.ChatSession;
+import com.aiadviser.model.LLMInputData;
+import com.aiadviser.repository.ChatSessionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat sessions with an in-memory read cache. Each cached session is registered on a timing wheel
+ * at its expires_at and evicted when that deadline passes, so expired sessions leave memory on time
+ * instead of waiting for the database cleanup. Reads check the session's version tag against the
+ * database first, so a session changed by another instance is reloaded rather than served stale.
+ * <p>
+ * The aggregated LLM input of a SKU's chat is captured once and attached to its session, and
+ * follow-up turns reuse it until it is older than chat-sessions.input-snapshot.freshness.
+ */
+@Service
+public class ChatSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSessionService.class);
+
+    private final ChatSessionRepository chatSessionRepository;
+    private final DataAggregatorService dataAggregatorService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean cacheEnabled;
+    private final boolean inputSnapshotsEnabled;
+    private final long inputFreshnessMillis;
+    private final Map<String, ChatSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, ChatInputSnapshot> inputSnapshots = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expiryWheel;
+    private final Counter evictions;
+
+    public ChatSessionService(
+            ChatSessionRepository chatSessionRepository,
+            DataAggregatorService dataAggregatorService,
+            ObjectMapper objectMapper,
+            ChatSessionConfig config,
+            MeterRegistry meterRegistry
+    ) {
+        this.chatSessionRepository = chatSessionRepository;
+        this.dataAggregatorService = dataAggregatorService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.cacheEnabled = config.getCache().isEnabled();
+        this.inputSnapshotsEnabled = config.getInputSnapshot().isEnabled();
+        this.inputFreshnessMillis = config.getInputSnapshot().getFreshness().toMillis();
+        this.evictions = meterRegistry.counter("chat_sessions.cache.expired");
+        this.expiryWheel = new TimingWheel<>(
+            "chat-session-expiry", config.getCache().getTick(), config.getCache().getWheelSize(), this::onExpired);
+
+        meterRegistry.gauge("chat_sessions.cache.size", sessions, Map::size);
+        meterRegistry.gauge("chat_sessions.cache.pending_expiries", expiryWheel, TimingWheel::pendingCount);
+    }
+
+    /**
+     * Returns "id.version" of the live session, always from the database
+     */
+    public Optional<String> findVersionTag(String sku) {
+        return chatSessionRepository.findVersionTagBySku(sku);
+    }
+
+    public Optional<ChatSession> findBySku(String sku) {
+        if (!cacheEnabled) {
+            return chatSessionRepository.findBySku(sku);
+        }
+
+        Optional<String> versionTag = chatSessionRepository.findVersionTagBySku(sku);
+        if (versionTag.isEmpty()) {
+            evict(sku);
+            return Optional.empty();
+        }
+
+        ChatSession cached = sessions.get(sku);
+        if (cached != null
+                && versionTag.get().equals(cached.id() + "." + cached.version())
+                && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return Optional.of(cached);
+        }
+
+        Optional<ChatSession> loaded = chatSessionRepository.findBySku(sku);
+        loaded.ifPresentOrElse(this::cache, () -> evict(sku));
+        return loaded;
+    }
+
+    public ChatSession save(String sku, String sessionData, LocalDateTime expiresAt) {
+        ChatSession saved = chatSessionRepository.save(sku, sessionData, expiresAt);
+        if (cacheEnabled) {
+            cache(saved);
+        }
+        // The first turn's snapshot was captured before the session existed; attach it now
+        ChatInputSnapshot snapshot = inputSnapshots.get(sku);
+        if (saved.version() == 0 && snapshot != null && isFresh(snapshot)) {
+            attach(snapshot);
+        }
+        return saved;
+    }
+
+    public void deleteBySku(String sku) {
+        chatSessionRepository.deleteBySku(sku);
+        evict(sku);
+        inputSnapshots.remove(sku);
+    }
+
+    /**
+     * Aggregated input for a chat turn: the SKU's snapshot while it is fresh, from memory or from
+     * the session row (so other instances reuse it too), otherwise freshly aggregated and attached
+     */
+    public LLMInputData chatInput(String sku) {
+        if (!inputSnapshotsEnabled) {
+            return dataAggregatorService.aggregateDataForLLM(sku);
+        }
+
+        ChatInputSnapshot snapshot = inputSnapshots.get(sku);
+        if (snapshot == null || !isFresh(snapshot)) {
+            ChatInputSnapshot stored = loadInputSnapshot(sku).orElse(null);
+            if (stored != null && (snapshot == null || stored.version() > snapshot.version())) {
+                snapshot = stored;
+                inputSnapshots.put(sku, stored);
+            }
+        }
+        if (snapshot != null && isFresh(snapshot)) {
+            countInput("reused");
+            return snapshot.input();
+        }
+
+        long version = snapshot != null ? snapshot.version() + 1 : 1;
+        ChatInputSnapshot captured = new ChatInputSnapshot(
+            sku, version, System.currentTimeMillis(), dataAggregatorService.aggregateDataForLLM(sku));
+        inputSnapshots.put(sku, captured);
+        attach(captured);
+        countInput("captured");
+        return captured.input();
+    }
+
+    private boolean isFresh(ChatInputSnapshot snapshot) {
+        return System.currentTimeMillis() - snapshot.capturedAt() < inputFreshnessMillis;
+    }
+
+    private Optional<ChatInputSnapshot> loadInputSnapshot(String sku) {
+        return chatSessionRepository.findInputSnapshot(sku).flatMap(stored -> {
+            try {
+                LLMInputData input = objectMapper.readValue(stored.payload(), LLMInputData.class);
+                return Optional.of(new ChatInputSnapshot(sku, stored.version(), stored.capturedAt(), input));
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring unreadable chat input snapshot for {}: {}", sku, e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    private void attach(ChatInputSnapshot snapshot) {
+        try {
+            chatSessionRepository.saveInputSnapshot(snapshot.sku(), snapshot.version(), snapshot.capturedAt(),
+                objectMapper.writeValueAsString(snapshot.input()));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not attach chat input snapshot for {}: {}", snapshot.sku(), e.getMessage());
+        }
+    }
+
+    private void countInput(String outcome) {
+        meterRegistry.counter("chat_sessions.input_snapshot", "outcome", outcome).increment();
+    }
+
+    private void cache(ChatSession session) {
+        sessions.put(session.sku(), session);
+        expiryWheel.schedule(session.sku(),
+            session.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void onExpired(String sku) {
+        inputSnapshots.remove(sku);
+        if (sessions.remove(sku) != null) {
+            evictions.increment();
+        }
+    }
+
+    private void evict(String sku) {
+        sessions.remove(sku);
+        expiryWheel.cancel(sku);
+    }
+
+    @PreDestroy
+    public void close() {
+        expiryWheel.close();
+    }
+}
@@ -1,98 +1,168 @@
 package com.aiadviser.service;
 
 import com.aiadviser.config.ClaudeConfig;
+import com.aiadviser.http.OutboundHttpClient;
+import com.aiadviser.http.OutboundHttpClientFactory;
 import com.aiadviser.model.*;
+import com.aiadviser.prompt.PromptRegistry;
+import com.aiadviser.prompt.PromptVariables;
+import com.aiadviser.prompt.RenderedPrompt;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+/**
+ * Claude calls for advice and chat. Each call goes to the model its route selects (see ModelRouter);
+ * a call that overruns its route's deadline is retried once on the route's fallback model.
+ * Latency per route, model and outcome and token usage per route and model are recorded.
+ */
 @Service
 public class ClaudeService {
 
     private static final Logger log = LoggerFactory.getLogger(ClaudeService.class);
-    private final WebClient webClient;
+    private final OutboundHttpClient httpClient;
     private final ClaudeConfig config;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
+    private final ModelRouter modelRouter;
+    private final MeterRegistry meterRegistry;
 
     public ClaudeService(
             ClaudeConfig config,
-            WebClient.Builder webClientBuilder,
-            ObjectMapper objectMapper
+            OutboundHttpClientFactory httpClientFactory,
+            ObjectMapper objectMapper,
+            PromptRegistry promptRegistry,
+            ModelRouter modelRouter,
+            MeterRegistry meterRegistry
     ) {
         this.config = config;
-        this.webClient = webClientBuilder
-            .baseUrl(config.getBaseUrl())
-            .defaultHeader("content-type", "application/json")
-            .build();
+        this.httpClient = httpClientFactory.create("claude", config.getBaseUrl(), config.getHttp());
         this.objectMapper = objectMapper;
+        this.promptRegistry = promptRegistry;
+        this.modelRouter = modelRouter;
+        this.meterRegistry = meterRegistry;
         log.info("ClaudeService initialized with base URL: {}, model: {}", 
                  config.getBaseUrl(), config.getModel());
     }
 
-    public Map<String, Object> analyzeProductData(LLMInputData inputData) {
-        String prompt = buildAnalysisPrompt(inputData);
+    /**
+     * Version id of the analysis prompt the SKU is currently assigned
+     */
+    public String analysisPromptVersion(String sku) {
+        return promptRegistry.select(PromptRegistry.ADVICE_ANALYSIS, sku).versionId();
+    }
 
-        ClaudeRequest request = new ClaudeRequest(
-            config.getModel(),
-            config.getMaxTokens(),
-            List.of(new ClaudeRequest.Message("user", prompt))
-        );
+    public LLMAnalysis analyzeProductData(LLMInputData inputData) {
+        RenderedPrompt prompt = promptRegistry.render(
+            PromptRegistry.ADVICE_ANALYSIS, inputData.sku(), PromptVariables.of(inputData));
 
         try {
-            ClaudeResponse response = webClient.post()
-                .uri("/v1/messages")
-                .header("x-api-key", config.getApiKey())
-                .header("anthropic-version", config.getApiVersion())
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(ClaudeResponse.class)
-                .block();
-
-            return parseResponse(response);
+            ClaudeResponse response = send(
+                modelRouter.forAnalysis(), List.of(new ClaudeRequest.Message("user", prompt.text())));
+
+            return new LLMAnalysis(parseResponse(response), prompt.versionId());
         } catch (Exception e) {
             log.error("Error calling Claude API: {}", e.getMessage());
-            return Map.of(
+            return new LLMAnalysis(Map.of(
                 "error", "Failed to get AI analysis",
                 "details", e.getMessage(),
                 "reorderRecommendation", "error"
-            );
+            ), prompt.versionId());
         }
     }
 
-    private String buildAnalysisPrompt(LLMInputData data) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Analyze the following product data and provide recommendations in JSON format.\n\n");
-        sb.append("Product: ").append(data.productName()).append(" (").append(data.sku()).append(")\n");
-        sb.append("Cost of Goods Sold (COGS): $").append(data.cogs()).append("\n");
-        sb.append("Lead Time: ").append(data.leadTimeDays()).append(" days\n");
-        sb.append("Current Stock: ").append(data.currentStock().quantity()).append(" units in ")
-          .append(data.currentStock().warehouse()).append("\n\n");
-
-        sb.append("Recent Sales (last 30 days):\n");
-        int totalQuantitySold = data.recentSales().stream()
-            .mapToInt(sale -> sale.quantity())
-            .sum();
-        sb.append("Total units sold: ").append(totalQuantitySold).append("\n");
-        sb.append("Average daily sales: ").append(totalQuantitySold / 30.0).append("\n\n");
-
-        sb.append("Please provide a JSON response with the following structure:\n");
-        sb.append("{\n");
-        sb.append("  \"reorderRecommendation\": \"yes\" or \"no\",\n");
-        sb.append("  \"suggestedOrderQuantity\": <number>,\n");
-        sb.append("  \"stockoutRisk\": \"low\", \"medium\", or \"high\",\n");
-        sb.append("  \"daysUntilStockout\": <number>,\n");
-        sb.append("  \"reasoning\": \"<brief explanation>\"\n");
-        sb.append("}\n\n");
-        sb.append("Only return valid JSON, no additional text.");
-
-        return sb.toString();
+    /**
+     * Calls the route's model, and its fallback model once if the first call times out
+     */
+    private ClaudeResponse send(ModelRouter.ModelRoute route, List<ClaudeRequest.Message> messages) {
+        try {
+            String hedgeKey = route.hedge() ? route.name() + ":" + route.model() : null;
+            return attempt(route, route.model(), route.deadline(), messages, hedgeKey);
+        } catch (RuntimeException e) {
+            if (route.fallbackModel() == null || !isTimeout(e)) {
+                throw e;
+            }
+            log.warn("Claude {} call on {} exceeded {}, falling back to {}",
+                route.name(), route.model(), route.deadline(), route.fallbackModel());
+            meterRegistry.counter("llm.fallbacks", "route", route.name()).increment();
+            return attempt(route, route.fallbackModel(), route.fallbackDeadline(), messages, null);
+        }
+    }
+
+    private ClaudeResponse attempt(
+            ModelRouter.ModelRoute route,
+            String model,
+            Duration deadline,
+            List<ClaudeRequest.Message> messages,
+            String hedgeKey
+    ) {
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+        try {
+            ClaudeResponse response = postMessages(
+                new ClaudeRequest(model, route.maxTokens(), messages), deadline, hedgeKey);
+            outcome = "success";
+            recordTokens(route, model, response);
+            return response;
+        } catch (RuntimeException e) {
+            if (isTimeout(e)) {
+                outcome = "timeout";
+            }
+            throw e;
+        } finally {
+            Timer.builder("llm.requests")
+                .tag("route", route.name())
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordTokens(ModelRouter.ModelRoute route, String model, ClaudeResponse response) {
+        if (response == null || response.usage() == null) {
+            return;
+        }
+        meterRegistry.summary("llm.tokens", "route", route.name(), "model", model, "type", "input")
+            .record(response.usage().input_tokens());
+        meterRegistry.summary("llm.tokens", "route", route.name(), "model", model, "type", "output")
+            .record(response.usage().output_tokens());
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Message creation is not idempotent, so it is never retried within a model. Routes that allow it
+     * are hedged instead: a duplicate generation only costs tokens, within the hedge budget.
+     */
+    private ClaudeResponse postMessages(ClaudeRequest request, Duration deadline, String hedgeKey) {
+        return httpClient.execute(webClient -> webClient.post()
+            .uri("/v1/messages")
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("x-api-key", config.getApiKey())
+            .header("anthropic-version", config.getApiVersion())
+            .bodyValue(request)
+            .retrieve()
+            .bodyToMono(ClaudeResponse.class), false, deadline, hedgeKey);
     }
 
     private Map<String, Object> parseResponse(ClaudeResponse response) {
@@ -111,13 +181,17 @@ public class ClaudeService {
         );
     }
 
-    public String sendChatMessage(String sku, List<ChatMessage> messageHistory, LLMInputData productData) {
+    public LLMReply sendChatMessage(String sku, List<ChatMessage> messageHistory, LLMInputData productData) {
         List<ClaudeRequest.Message> claudeMessages = new ArrayList<>();
+        String promptVersion = null;
         
         if (messageHistory.isEmpty() || !messageHistory.get(0).role().equals("system")) {
-            String systemContext = buildProductContext(productData);
-            claudeMessages.add(new ClaudeRequest.Message("user", systemContext));
-            claudeMessages.add(new ClaudeRequest.Message("assistant", "I understand the product data. How can I help you with inventory decisions for " + productData.productName() + "?"));
+            PromptVariables values = PromptVariables.of(productData);
+            RenderedPrompt context = promptRegistry.render(PromptRegistry.CHAT_CONTEXT, sku, values);
+            RenderedPrompt greeting = promptRegistry.render(PromptRegistry.CHAT_GREETING, sku, values);
+            claudeMessages.add(new ClaudeRequest.Message("user", context.text()));
+            claudeMessages.add(new ClaudeRequest.Message("assistant", greeting.text()));
+            promptVersion = context.versionId();
         }
         
         claudeMessages.addAll(
@@ -127,52 +201,17 @@ public class ClaudeService {
                 .collect(Collectors.toList())
         );
 
-        ClaudeRequest request = new ClaudeRequest(
-            config.getModel(),
-            config.getMaxTokens(),
-            claudeMessages
-        );
-
         try {
-            ClaudeResponse response = webClient.post()
-                .uri("/v1/messages")
-                .header("x-api-key", config.getApiKey())
-                .header("anthropic-version", config.getApiVersion())
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(ClaudeResponse.class)
-                .block();
+            ClaudeResponse response = send(modelRouter.forChat(claudeMessages), claudeMessages);
 
             if (response != null && response.content() != null && !response.content().isEmpty()) {
-                return response.content().get(0).text();
+                return new LLMReply(response.content().get(0).text(), promptVersion);
             }
             
-            return "I apologize, but I couldn't generate a response. Please try again.";
+            return new LLMReply("I apologize, but I couldn't generate a response. Please try again.", promptVersion);
         } catch (Exception e) {
             log.error("Error in chat with Claude API: {}", e.getMessage());
-            return "I'm experiencing technical difficulties. Please try again later.";
+            return new LLMReply("I'm experiencing technical difficulties. Please try again later.", promptVersion);
         }
     }
-
-    private String buildProductContext(LLMInputData data) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("You are an AI inventory management advisor. Here is the product information:\n\n");
-        sb.append("Product: ").append(data.productName()).append(" (SKU: ").append(data.sku()).append(")\n");
-        sb.append("Cost of Goods Sold (COGS): $").append(data.cogs()).append("\n");
-        sb.append("Lead Time: ").append(data.leadTimeDays()).append(" days\n");
-        sb.append("Current Stock: ").append(data.currentStock().quantity()).append(" units in ")
-          .append(data.currentStock().warehouse()).append("\n\n");
-
-        sb.append("Recent Sales (last 30 days):\n");
-        int totalQuantitySold = data.recentSales().stream()
-            .mapToInt(sale -> sale.quantity())
-            .sum();
-        sb.append("Total units sold: ").append(totalQuantitySold).append("\n");
-        sb.append("Average daily sales: ").append(String.format("%.2f", totalQuantitySold / 30.0)).append("\n\n");
-
-        sb.append("Please provide helpful, detailed advice about inventory management for this product. ");
-        sb.append("Be conversational and explain your reasoning clearly.");
-
-        return sb.toString();
-    }
 }
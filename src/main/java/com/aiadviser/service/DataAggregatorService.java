@@ -1,93 +1,98 @@
 package com.aiadviser.service;
 
 import com.aiadviser.client.BaselinkerClient;
-import com.aiadviser.client.ShopifyClient;
+import com.aiadviser.concurrent.FanOutExecutor;
 import com.aiadviser.model.LLMInputData;
 import com.aiadviser.model.ProductData;
-import com.aiadviser.model.SaleData;
+import com.aiadviser.model.SkuInventoryState;
 import com.aiadviser.model.StockData;
 import com.aiadviser.model.baselinker.BaselinkerProduct;
 import com.aiadviser.model.baselinker.BaselinkerProductsResponse;
-import com.aiadviser.model.shopify.ShopifyLineItem;
-import com.aiadviser.model.shopify.ShopifyOrder;
-import com.aiadviser.model.shopify.ShopifyOrdersResponse;
 import com.aiadviser.repository.ProductRepository;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class DataAggregatorService {
 
-    private final ShopifyClient shopifyClient;
+    private final SalesHistoryService salesHistoryService;
     private final BaselinkerClient baselinkerClient;
     private final ProductRepository productRepository;
+    private final InventoryStateStore inventoryStateStore;
+    private final FanOutExecutor fanOutExecutor;
+    private final WarehouseStockService warehouseStockService;
 
     public DataAggregatorService(
-            ShopifyClient shopifyClient,
+            SalesHistoryService salesHistoryService,
             BaselinkerClient baselinkerClient,
-            ProductRepository productRepository
+            ProductRepository productRepository,
+            InventoryStateStore inventoryStateStore,
+            FanOutExecutor fanOutExecutor,
+            WarehouseStockService warehouseStockService
     ) {
-        this.shopifyClient = shopifyClient;
+        this.salesHistoryService = salesHistoryService;
         this.baselinkerClient = baselinkerClient;
         this.productRepository = productRepository;
+        this.inventoryStateStore = inventoryStateStore;
+        this.fanOutExecutor = fanOutExecutor;
+        this.warehouseStockService = warehouseStockService;
     }
 
     /**
      * Aggregates data from multiple sources for LLM analysis
-     * Parses real API structures from Shopify and Baselinker
+     * Parses real API structures from Baselinker; sales come from the webhook-maintained sales_daily rollup
      */
     public LLMInputData aggregateDataForLLM(String sku) {
         ProductData product = productRepository.findBySku(sku)
             .orElseThrow(() -> new RuntimeException("Product not found: " + sku));
 
-        List<SaleData> recentSales = parseShopifyOrders(sku, 30);
-        StockData currentStock = parseBaselinkerInventory(sku);
+        return aggregateDataForLLM(product);
+    }
+
+    /**
+     * Aggregates data for an already loaded product, skipping the DB lookup.
+     * Stock and sales come from the inventory state store while fresh, otherwise they are reloaded.
+     */
+    public LLMInputData aggregateDataForLLM(ProductData product) {
+        SkuInventoryState state = inventoryStateStore.findFresh(product.sku())
+            .orElseGet(() -> refreshInventoryState(product.sku()));
 
         return new LLMInputData(
             product.sku(),
             product.productName(),
             product.cogs(),
             product.leadTimeDays(),
-            recentSales,
-            currentStock
+            state.dailySales(),
+            state.toStockData()
         );
     }
 
     /**
-     * Fetches and parses Shopify orders into SaleData
+     * Reads current stock and the last 30 days of sales and records them in the inventory state store.
+     * Sales are read from sales_daily, which webhooks keep current, so Shopify is not polled; stock may
+     * need a Baselinker call. Both are read concurrently; if either fails the other is cancelled.
      */
-    private List<SaleData> parseShopifyOrders(String sku, int days) {
-        ShopifyOrdersResponse response = shopifyClient.fetchOrdersForSku(sku, days);
-        List<SaleData> sales = new ArrayList<>();
-
-        for (ShopifyOrder order : response.orders()) {
-            LocalDate saleDate = parseShopifyDate(order.createdAt());
-            
-            for (ShopifyLineItem lineItem : order.lineItems()) {
-                if (sku.equals(lineItem.sku())) {
-                    BigDecimal unitPrice = new BigDecimal(lineItem.price());
-                    int quantity = lineItem.quantity();
-                    BigDecimal totalAmount = unitPrice.multiply(BigDecimal.valueOf(quantity));
-                    
-                    sales.add(new SaleData(saleDate, quantity, unitPrice, totalAmount));
-                }
-            }
-        }
-
-        return sales;
+    public SkuInventoryState refreshInventoryState(String sku) {
+        return fanOutExecutor.invokeBoth(
+            () -> salesHistoryService.recentDailySales(sku),
+            () -> parseBaselinkerInventory(sku),
+            (recentSales, currentStock) -> inventoryStateStore.record(currentStock, recentSales)
+        );
     }
 
     /**
      * Fetches and parses Baselinker inventory into StockData
      * Filters products by SKU to handle multi-product responses
+     * Served from the journal-maintained warehouse_stock table when it has the SKU
      */
     private StockData parseBaselinkerInventory(String sku) {
+        Optional<StockData> local = warehouseStockService.findLocal(sku);
+        if (local.isPresent()) {
+            return local.get();
+        }
+
         BaselinkerProductsResponse response = baselinkerClient.fetchInventoryProductData(sku);
         
         if (!"SUCCESS".equals(response.status())) {
@@ -116,10 +121,6 @@ public class DataAggregatorService {
         return new StockData(sku, totalQuantity, warehouseInfo);
     }
 
-    private LocalDate parseShopifyDate(String dateString) {
-        return LocalDate.parse(dateString.substring(0, 10));
-    }
-
     private String buildWarehouseInfo(Map<String, Integer> stock, Map<String, String> locations) {
         StringBuilder info = new StringBuilder();
         stock.forEach((warehouse, qty) -> {
@@ -3,6 +3,7 @@ package com.aiadviser.service;
 import com.aiadviser.client.BaselinkerClient;
 import com.aiadviser.client.ShopifyClient;
 import com.aiadviser.model.ProductData;
+import com.aiadviser.model.SyncStatus;
 import com.aiadviser.model.baselinker.BaselinkerProduct;
 import com.aiadviser.model.baselinker.BaselinkerProductsResponse;
 import com.aiadviser.repository.ProductRepository;
@@ -11,8 +12,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class DataSyncService {
@@ -22,37 +26,72 @@ public class DataSyncService {
     private final ShopifyClient shopifyClient;
     private final BaselinkerClient baselinkerClient;
     private final ProductRepository productRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final AtomicReference<SyncStatus> status = new AtomicReference<>(SyncStatus.starting());
+    private final AtomicBoolean syncInProgress = new AtomicBoolean();
 
     public DataSyncService(
             ShopifyClient shopifyClient,
             BaselinkerClient baselinkerClient,
-            ProductRepository productRepository
+            ProductRepository productRepository,
+            CatalogVersionTracker catalogVersionTracker
     ) {
         this.shopifyClient = shopifyClient;
         this.baselinkerClient = baselinkerClient;
         this.productRepository = productRepository;
+        this.catalogVersionTracker = catalogVersionTracker;
+    }
+
+    public SyncStatus getSyncStatus() {
+        return status.get();
+    }
+
+    /**
+     * Marks this node ready without syncing, when another node holds the sync job
+     */
+    public void markSyncedElsewhere() {
+        status.updateAndGet(current -> current.state() == SyncStatus.State.STARTING ? SyncStatus.syncedElsewhere() : current);
     }
 
     public void syncProductsFromExternalSources() {
+        if (!syncInProgress.compareAndSet(false, true)) {
+            log.warn("Product synchronization already in progress, skipping");
+            return;
+        }
+
+        try {
+            runSync();
+        } finally {
+            syncInProgress.set(false);
+        }
+    }
+
+    private void runSync() {
         log.info("Starting product synchronization from Baselinker (fetching all products)...");
 
+        String startedAt = LocalDateTime.now().toString();
         int syncedCount = 0;
         int errorCount = 0;
+        status.set(SyncStatus.syncing(0, 0, 0, startedAt));
 
         try {
             BaselinkerProductsResponse response = baselinkerClient.fetchAllProducts();
             
             if (!"SUCCESS".equals(response.status())) {
                 log.error("Baselinker API returned status: {}", response.status());
+                markFailed(startedAt, 0, 0, "Baselinker API returned status: " + response.status());
                 return;
             }
 
             if (response.products() == null || response.products().isEmpty()) {
                 log.warn("No products returned from Baselinker");
+                markReady(startedAt, 0, 0, "No products returned from Baselinker");
                 return;
             }
 
-            log.info("Fetched {} products from Baselinker", response.products().size());
+            int total = response.products().size();
+            log.info("Fetched {} products from Baselinker", total);
+            status.set(SyncStatus.syncing(total, 0, 0, startedAt));
 
             for (BaselinkerProduct baselinkerProduct : response.products().values()) {
                 try {
@@ -65,14 +104,35 @@ public class DataSyncService {
                     log.error("Failed to sync product {}: {}", 
                         baselinkerProduct.sku(), e.getMessage(), e);
                 }
+                status.set(SyncStatus.syncing(total, syncedCount + errorCount, errorCount, startedAt));
+            }
+
+            if (syncedCount > 0) {
+                catalogVersionTracker.markChanged();
             }
 
             log.info("Product synchronization completed. Synced: {}, Errors: {}", syncedCount, errorCount);
+            markReady(startedAt, total, errorCount, null);
         } catch (Exception e) {
             log.error("Failed to fetch products from Baselinker: {}", e.getMessage(), e);
+            markFailed(startedAt, syncedCount + errorCount, errorCount, e.getMessage());
         }
     }
 
+    private void markReady(String startedAt, int total, int failed, String message) {
+        status.set(new SyncStatus(
+            SyncStatus.State.READY, total, total, failed, 100, startedAt, LocalDateTime.now().toString(), message
+        ));
+    }
+
+    private void markFailed(String startedAt, int processed, int failed, String message) {
+        SyncStatus previous = status.get();
+        status.set(new SyncStatus(
+            SyncStatus.State.FAILED, previous.totalProducts(), processed, failed, previous.progressPercent(),
+            startedAt, LocalDateTime.now().toString(), message
+        ));
+    }
+
     private void syncProduct(BaselinkerProduct baselinkerProduct) {
         BigDecimal cogs = baselinkerProduct.priceWholesaleNetto() != null 
             ? BigDecimal.valueOf(baselinkerProduct.priceWholesaleNetto())
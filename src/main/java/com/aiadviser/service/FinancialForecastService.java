@@ -15,6 +15,8 @@ import java.util.List;
 @Service
 public class FinancialForecastService {
 
+    private static final int MAX_STOCKOUT_ESTIMATE_DAYS = 365;
+
     @Value("${financial.carrying-cost-rate:0.20}")
     private double carryingCostRate;
 
@@ -57,6 +59,21 @@ public class FinancialForecastService {
         );
     }
 
+    /**
+     * Baseline days-until-stockout from current stock and historical sales velocity,
+     * used when no AI prediction is available
+     */
+    public int estimateDaysUntilStockout(LLMInputData data) {
+        double avgDailySales = calculateAverageDailySales(data.recentSales());
+        int currentStock = data.currentStock().quantity();
+
+        if (avgDailySales <= 0) {
+            return MAX_STOCKOUT_ESTIMATE_DAYS;
+        }
+
+        return (int) Math.min(Math.floor(currentStock / avgDailySales), MAX_STOCKOUT_ESTIMATE_DAYS);
+    }
+
     private double calculateAverageDailySales(List<SaleData> salesHistory) {
         if (salesHistory.isEmpty()) {
             return 0.0;
@@ -0,0 +1,189 @@
+package com.aiadviser.service;
+
+import com.aiadviser.model.SaleData;
+import com.aiadviser.model.SkuInventoryState;
+import com.aiadviser.model.StockData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-SKU stock and daily sales state.
+ * Reads are served from here while the state is younger than inventory-state.max-age;
+ * state restored from a snapshot is served until it is refreshed, but never once it is older than
+ * inventory-state.restored-max-age, so a SKU whose startup refresh failed is fetched again on read.
+ */
+@Component
+public class InventoryStateStore {
+
+    private final Map<String, SkuInventoryState> states = new ConcurrentHashMap<>();
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final ProductChangeFeed productChangeFeed;
+    private final long maxAgeMillis;
+    private final long restoredMaxAgeMillis;
+
+    public InventoryStateStore(
+            CatalogVersionTracker catalogVersionTracker,
+            ProductChangeFeed productChangeFeed,
+            @Value("${inventory-state.max-age:5m}") Duration maxAge,
+            @Value("${inventory-state.restored-max-age:1h}") Duration restoredMaxAge
+    ) {
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.productChangeFeed = productChangeFeed;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.restoredMaxAgeMillis = restoredMaxAge.toMillis();
+    }
+
+    /**
+     * Last known state regardless of age
+     */
+    public Optional<SkuInventoryState> find(String sku) {
+        return Optional.ofNullable(states.get(sku));
+    }
+
+    public Optional<SkuInventoryState> findFresh(String sku) {
+        SkuInventoryState state = states.get(sku);
+        if (state == null) {
+            return Optional.empty();
+        }
+        long age = System.currentTimeMillis() - state.observedAt();
+        if (age <= (state.restored() ? restoredMaxAgeMillis : maxAgeMillis)) {
+            return Optional.of(state);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Index of the current max-age window. State served from memory can only go stale
+     * when this moves, so it is part of anything cached downstream of the store.
+     */
+    public long freshnessWindow() {
+        return maxAgeMillis > 0 ? System.currentTimeMillis() / maxAgeMillis : System.currentTimeMillis();
+    }
+
+    public boolean isRestored(String sku) {
+        SkuInventoryState state = states.get(sku);
+        return state != null && state.restored();
+    }
+
+    public Collection<SkuInventoryState> getAll() {
+        return List.copyOf(states.values());
+    }
+
+    /**
+     * Records freshly fetched stock and sales, bucketing sales by day.
+     * Bumps the catalog version only when the values actually changed.
+     */
+    public SkuInventoryState record(StockData stock, List<SaleData> sales) {
+        SkuInventoryState state = new SkuInventoryState(
+            stock.sku(),
+            stock.quantity(),
+            stock.warehouse(),
+            bucketByDay(sales),
+            System.currentTimeMillis(),
+            false
+        );
+
+        SkuInventoryState previous = states.put(stock.sku(), state);
+        if (previous == null
+                || !previous.stockQuantity().equals(state.stockQuantity())
+                || !previous.dailySales().equals(state.dailySales())) {
+            catalogVersionTracker.markChanged();
+            productChangeFeed.markChanged(state.sku());
+        }
+        return state;
+    }
+
+    /**
+     * Applies a stock change pushed from the journal to a SKU's state, keeping its sales and observedAt.
+     * SKUs with no state yet are left alone.
+     */
+    public void updateStock(StockData stock) {
+        boolean[] changed = new boolean[1];
+        states.computeIfPresent(stock.sku(), (key, state) -> {
+            changed[0] = !stock.quantity().equals(state.stockQuantity());
+            return new SkuInventoryState(
+                state.sku(),
+                stock.quantity(),
+                stock.warehouse(),
+                state.dailySales(),
+                state.observedAt(),
+                state.restored()
+            );
+        });
+        if (changed[0]) {
+            catalogVersionTracker.markChanged();
+            productChangeFeed.markChanged(stock.sku());
+        }
+    }
+
+    /**
+     * Replaces a SKU's daily sales with the sales_daily window re-read after webhook orders were committed.
+     * Replacing instead of adding the pushed sales means an order already in the state is never counted twice.
+     * Stock and observedAt are kept. SKUs with no state yet are left alone; their first read loads everything.
+     */
+    public void replaceSales(String sku, List<SaleData> dailySales) {
+        List<SaleData> buckets = bucketByDay(dailySales);
+        boolean[] changed = new boolean[1];
+        states.computeIfPresent(sku, (key, state) -> {
+            changed[0] = !buckets.equals(state.dailySales());
+            return new SkuInventoryState(
+                state.sku(),
+                state.stockQuantity(),
+                state.warehouseInfo(),
+                buckets,
+                state.observedAt(),
+                state.restored()
+            );
+        });
+        if (changed[0]) {
+            catalogVersionTracker.markChanged();
+            productChangeFeed.markChanged(sku);
+        }
+    }
+
+    /**
+     * Loads snapshot state without overriding anything fetched since startup
+     */
+    public void restore(SkuInventoryState state) {
+        states.putIfAbsent(state.sku(), new SkuInventoryState(
+            state.sku(),
+            state.stockQuantity(),
+            state.warehouseInfo(),
+            List.copyOf(state.dailySales()),
+            state.observedAt(),
+            true
+        ));
+    }
+
+    static List<SaleData> bucketByDay(List<SaleData> sales) {
+        Map<LocalDate, int[]> quantities = new TreeMap<>();
+        Map<LocalDate, BigDecimal> totals = new TreeMap<>();
+
+        for (SaleData sale : sales) {
+            quantities.computeIfAbsent(sale.date(), date -> new int[1])[0] += sale.quantity();
+            totals.merge(sale.date(), sale.totalAmount(), BigDecimal::add);
+        }
+
+        List<SaleData> buckets = new ArrayList<>(quantities.size());
+        quantities.forEach((date, quantity) -> {
+            BigDecimal total = totals.get(date);
+            BigDecimal unitPrice = quantity[0] > 0
+                ? total.divide(BigDecimal.valueOf(quantity[0]), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+            buckets.add(new SaleData(date, quantity[0], unitPrice, total));
+        });
+        return List.copyOf(buckets);
+    }
+}
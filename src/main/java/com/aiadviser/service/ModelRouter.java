@@ -0,0 +1,67 @@
+package com.aiadviser.service;
+
+import com.aiadviser.config.ClaudeConfig;
+import com.aiadviser.model.ClaudeRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Picks the Claude model for a request from external-services.claude.routing: the analysis route
+ * for reorder analysis, and chat-short or chat-long for chat depending on how much text the turn
+ * sends. The size of the messages stands in for token count, at roughly four characters per token.
+ */
+@Component
+public class ModelRouter {
+
+    public static final String ANALYSIS = "analysis";
+    public static final String CHAT_SHORT = "chat-short";
+    public static final String CHAT_LONG = "chat-long";
+
+    private final ClaudeConfig config;
+
+    public ModelRouter(ClaudeConfig config) {
+        this.config = config;
+    }
+
+    public ModelRoute forAnalysis() {
+        return resolve(ANALYSIS);
+    }
+
+    public ModelRoute forChat(List<ClaudeRequest.Message> messages) {
+        long chars = 0;
+        for (ClaudeRequest.Message message : messages) {
+            chars += message.content() != null ? message.content().length() : 0;
+        }
+        return resolve(chars <= config.getRouting().getShortChatMaxChars() ? CHAT_SHORT : CHAT_LONG);
+    }
+
+    private ModelRoute resolve(String name) {
+        ClaudeConfig.Route route = config.getRouting().isEnabled() ? config.getRouting().getRoutes().get(name) : null;
+        Duration defaultDeadline = config.getHttp().getDeadline();
+        if (route == null || route.getModel() == null) {
+            return new ModelRoute(name, config.getModel(), config.getMaxTokens(), defaultDeadline, null, null, false);
+        }
+        return new ModelRoute(
+            name,
+            route.getModel(),
+            route.getMaxTokens() != null ? route.getMaxTokens() : config.getMaxTokens(),
+            route.getDeadline() != null ? route.getDeadline() : defaultDeadline,
+            route.getFallbackModel(),
+            route.getFallbackDeadline() != null ? route.getFallbackDeadline() : defaultDeadline,
+            route.isHedge()
+        );
+    }
+
+    public record ModelRoute(
+        String name,
+        String model,
+        int maxTokens,
+        Duration deadline,
+        String fallbackModel,
+        Duration fallbackDeadline,
+        boolean hedge
+    ) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.aiadviser.service;
+
+import com.aiadviser.model.FinancialMetrics;
+import com.aiadviser.model.LLMInputData;
+import com.aiadviser.model.PortfolioMetrics;
+import com.aiadviser.model.ProductData;
+import com.aiadviser.model.SkuRisk;
+import com.aiadviser.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class PortfolioMetricsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioMetricsService.class);
+
+    /**
+     * Highest stockout loss first; among equal losses the SKU that runs out sooner is riskier
+     */
+    private static final Comparator<SkuRisk> RISK_ORDER = Comparator
+        .comparing(SkuRisk::stockoutLoss).reversed()
+        .thenComparing(SkuRisk::daysUntilStockout);
+
+    private final ProductRepository productRepository;
+    private final DataAggregatorService dataAggregatorService;
+    private final FinancialForecastService financialForecastService;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final ExecutorService executor;
+    private final int partitions;
+    private final int maxTopSkus;
+
+    private final ReentrantLock computeLock = new ReentrantLock();
+    private volatile CachedPortfolio cached;
+
+    public PortfolioMetricsService(
+            ProductRepository productRepository,
+            DataAggregatorService dataAggregatorService,
+            FinancialForecastService financialForecastService,
+            CatalogVersionTracker catalogVersionTracker,
+            @Value("${portfolio.partitions:0}") int partitions,
+            @Value("${portfolio.max-top-skus:100}") int maxTopSkus
+    ) {
+        this.productRepository = productRepository;
+        this.dataAggregatorService = dataAggregatorService;
+        this.financialForecastService = financialForecastService;
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.maxTopSkus = maxTopSkus;
+        this.executor = Executors.newFixedThreadPool(this.partitions, portfolioThreadFactory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns catalog-wide totals plus the riskiest SKUs.
+     * The result is cached until the catalog data version changes.
+     */
+    public PortfolioMetrics getPortfolioMetrics(int topN) {
+        int limit = Math.max(0, Math.min(topN, maxTopSkus));
+        PortfolioMetrics metrics = currentMetrics();
+
+        if (metrics.riskiestSkus().size() <= limit) {
+            return metrics;
+        }
+
+        return new PortfolioMetrics(
+            metrics.totalExpectedRevenue(),
+            metrics.totalExpectedProfit(),
+            metrics.totalCarryingCost(),
+            metrics.totalStockoutLoss(),
+            metrics.productCount(),
+            metrics.failedCount(),
+            metrics.riskiestSkus().subList(0, limit),
+            metrics.dataVersion(),
+            metrics.computedAt()
+        );
+    }
+
+    private PortfolioMetrics currentMetrics() {
+        long version = catalogVersionTracker.currentVersion();
+        CachedPortfolio snapshot = cached;
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot.metrics();
+        }
+
+        // A lock rather than synchronized: waiting on the partitions must not pin a virtual thread's carrier
+        computeLock.lock();
+        try {
+            version = catalogVersionTracker.currentVersion();
+            snapshot = cached;
+            if (snapshot != null && snapshot.version() == version) {
+                return snapshot.metrics();
+            }
+
+            PortfolioMetrics metrics = computePortfolioMetrics(version);
+            cached = new CachedPortfolio(version, metrics);
+            return metrics;
+        } finally {
+            computeLock.unlock();
+        }
+    }
+
+    private PortfolioMetrics computePortfolioMetrics(long version) {
+        long startedAt = System.nanoTime();
+        List<ProductData> products = productRepository.findAll();
+        List<List<ProductData>> slices = partition(products, partitions);
+
+        List<CompletableFuture<PortfolioAccumulator>> futures = new ArrayList<>(slices.size());
+        for (List<ProductData> slice : slices) {
+            futures.add(CompletableFuture.supplyAsync(() -> accumulate(slice), executor));
+        }
+
+        PortfolioAccumulator total = new PortfolioAccumulator(maxTopSkus);
+        for (CompletableFuture<PortfolioAccumulator> future : futures) {
+            total.merge(future.join());
+        }
+
+        log.info("Computed portfolio metrics for {} products in {} partitions ({} failed) in {} ms",
+            products.size(), slices.size(), total.failedCount,
+            (System.nanoTime() - startedAt) / 1_000_000);
+
+        return new PortfolioMetrics(
+            total.expectedRevenue,
+            total.expectedProfit,
+            total.carryingCost,
+            total.stockoutLoss,
+            total.productCount,
+            total.failedCount,
+            total.riskiestSkus(),
+            version,
+            LocalDateTime.now().toString()
+        );
+    }
+
+    private PortfolioAccumulator accumulate(List<ProductData> slice) {
+        PortfolioAccumulator accumulator = new PortfolioAccumulator(maxTopSkus);
+
+        for (ProductData product : slice) {
+            try {
+                LLMInputData data = dataAggregatorService.aggregateDataForLLM(product);
+                int daysUntilStockout = financialForecastService.estimateDaysUntilStockout(data);
+                FinancialMetrics metrics = financialForecastService.calculateFinancialMetrics(data, daysUntilStockout, 0);
+
+                accumulator.add(metrics, new SkuRisk(
+                    product.sku(),
+                    product.productName(),
+                    data.currentStock().quantity(),
+                    daysUntilStockout,
+                    metrics.stockoutLoss(),
+                    metrics.carryingCost(),
+                    metrics.expectedProfit()
+                ));
+            } catch (Exception e) {
+                log.warn("Failed to compute portfolio metrics for product {}: {}", product.sku(), e.getMessage());
+                accumulator.failedCount++;
+            }
+        }
+
+        return accumulator;
+    }
+
+    private static List<List<ProductData>> partition(List<ProductData> products, int partitions) {
+        List<List<ProductData>> slices = new ArrayList<>();
+        if (products.isEmpty()) {
+            return slices;
+        }
+
+        int sliceSize = (products.size() + partitions - 1) / partitions;
+        for (int from = 0; from < products.size(); from += sliceSize) {
+            slices.add(products.subList(from, Math.min(from + sliceSize, products.size())));
+        }
+        return slices;
+    }
+
+    private static ThreadFactory portfolioThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record CachedPortfolio(long version, PortfolioMetrics metrics) {
+    }
+
+    /**
+     * Per-partition running totals; keeps only the top-N riskiest SKUs in a bounded min-heap
+     */
+    private static final class PortfolioAccumulator {
+        private final int capacity;
+        private final PriorityQueue<SkuRisk> topRisks;
+        private BigDecimal expectedRevenue = BigDecimal.ZERO;
+        private BigDecimal expectedProfit = BigDecimal.ZERO;
+        private BigDecimal carryingCost = BigDecimal.ZERO;
+        private BigDecimal stockoutLoss = BigDecimal.ZERO;
+        private int productCount;
+        private int failedCount;
+
+        private PortfolioAccumulator(int capacity) {
+            this.capacity = capacity;
+            this.topRisks = new PriorityQueue<>(RISK_ORDER.reversed());
+        }
+
+        private void add(FinancialMetrics metrics, SkuRisk risk) {
+            expectedRevenue = expectedRevenue.add(metrics.expectedRevenue());
+            expectedProfit = expectedProfit.add(metrics.expectedProfit());
+            carryingCost = carryingCost.add(metrics.carryingCost());
+            stockoutLoss = stockoutLoss.add(metrics.stockoutLoss());
+            productCount++;
+            offer(risk);
+        }
+
+        private void offer(SkuRisk risk) {
+            if (capacity == 0) {
+                return;
+            }
+            topRisks.offer(risk);
+            if (topRisks.size() > capacity) {
+                topRisks.poll();
+            }
+        }
+
+        private void merge(PortfolioAccumulator other) {
+            expectedRevenue = expectedRevenue.add(other.expectedRevenue);
+            expectedProfit = expectedProfit.add(other.expectedProfit);
+            carryingCost = carryingCost.add(other.carryingCost);
+            stockoutLoss = stockoutLoss.add(other.stockoutLoss);
+            productCount += other.productCount;
+            failedCount += other.failedCount;
+            other.topRisks.forEach(this::offer);
+        }
+
+        private List<SkuRisk> riskiestSkus() {
+            List<SkuRisk> risks = new ArrayList<>(topRisks);
+            risks.sort(RISK_ORDER);
+            return List.copyOf(risks);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.aiadviser.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SKUs whose dashboard values (stock, sales, profit or advice) changed since the last drain.
+ * A burst of changes to one SKU is drained once. The version moves on every change, so anything
+ * cached over these values (e.g. page ETags) can tell when it went stale.
+ */
+@Component
+public class ProductChangeFeed {
+
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+
+    public void markChanged(String sku) {
+        changed.add(sku);
+        version.incrementAndGet();
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Removes and returns the changed SKUs. A SKU marked again while draining is returned now or by the next drain.
+     */
+    public List<String> drain() {
+        List<String> drained = new ArrayList<>(changed.size());
+        for (Iterator<String> it = changed.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+}
@@ -1,92 +1,250 @@
 package com.aiadviser.service;
 
-import com.aiadviser.client.BaselinkerClient;
-import com.aiadviser.client.ShopifyClient;
+import com.aiadviser.concurrent.FanOutExecutor;
+import com.aiadviser.model.LLMInputData;
 import com.aiadviser.model.ProductData;
+import com.aiadviser.model.ProductDelta;
+import com.aiadviser.model.ProductPage;
+import com.aiadviser.model.ProductQuery;
+import com.aiadviser.model.ProductSort;
 import com.aiadviser.model.ProductSummary;
-import com.aiadviser.model.baselinker.BaselinkerProduct;
-import com.aiadviser.model.baselinker.BaselinkerProductsResponse;
-import com.aiadviser.model.shopify.ShopifyLineItem;
-import com.aiadviser.model.shopify.ShopifyOrder;
-import com.aiadviser.model.shopify.ShopifyOrdersResponse;
+import com.aiadviser.model.SaleData;
+import com.aiadviser.model.SkuInventoryState;
 import com.aiadviser.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.lang.reflect.RecordComponent;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductSummaryService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductSummaryService.class);
     
+    private static final Set<String> PROJECTABLE_FIELDS = Arrays.stream(ProductSummary.class.getRecordComponents())
+        .map(RecordComponent::getName)
+        .collect(Collectors.toUnmodifiableSet());
+
     private final ProductRepository productRepository;
-    private final ShopifyClient shopifyClient;
-    private final BaselinkerClient baselinkerClient;
+    private final DataAggregatorService dataAggregatorService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final InventoryStateStore inventoryStateStore;
+    private final FanOutExecutor fanOutExecutor;
+    private final AdviceService adviceService;
+    private final ProductChangeFeed productChangeFeed;
+    private final int maxScanPerPage;
 
     public ProductSummaryService(
             ProductRepository productRepository,
-            ShopifyClient shopifyClient,
-            BaselinkerClient baselinkerClient
+            DataAggregatorService dataAggregatorService,
+            ObjectMapper objectMapper,
+            CatalogVersionTracker catalogVersionTracker,
+            InventoryStateStore inventoryStateStore,
+            FanOutExecutor fanOutExecutor,
+            AdviceService adviceService,
+            ProductChangeFeed productChangeFeed,
+            @Value("${products.max-scan-per-page:500}") int maxScanPerPage
     ) {
         this.productRepository = productRepository;
-        this.shopifyClient = shopifyClient;
-        this.baselinkerClient = baselinkerClient;
+        this.dataAggregatorService = dataAggregatorService;
+        this.objectMapper = objectMapper;
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.inventoryStateStore = inventoryStateStore;
+        this.fanOutExecutor = fanOutExecutor;
+        this.adviceService = adviceService;
+        this.productChangeFeed = productChangeFeed;
+        this.maxScanPerPage = maxScanPerPage;
+    }
+
+    /**
+     * Weak ETag for a page, computed without touching the upstream APIs. It covers the catalog
+     * version (stock and sales), the change feed version (advice), the latest product_data update,
+     * the inventory state freshness window and every query parameter, so a page can only change when
+     * one of them does. It is weak because Tomcat does not compress responses with a strong ETag,
+     * and the page is the same JSON whether or not it is gzipped.
+     */
+    public String pageETag(ProductQuery query) {
+        String fields = query.fields() == null ? "" : query.fields().stream().sorted().collect(Collectors.joining(","));
+        String source = String.join("|",
+            Long.toString(catalogVersionTracker.epoch()),
+            Long.toString(catalogVersionTracker.currentVersion()),
+            Long.toString(productChangeFeed.currentVersion()),
+            String.valueOf(productRepository.findLatestUpdatedAt().orElse(null)),
+            Long.toString(inventoryStateStore.freshnessWindow()),
+            String.valueOf(query.cursor()),
+            Integer.toString(query.limit()),
+            query.sort().field(),
+            Boolean.toString(query.descending()),
+            Boolean.toString(query.lowStockOnly()),
+            Integer.toString(query.lowStockThreshold()),
+            Boolean.toString(query.negativeProfitOnly()),
+            fields
+        );
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
-    public List<ProductSummary> getAllProductSummaries() {
-        List<ProductData> products = productRepository.findAll();
-        List<ProductSummary> summaries = new ArrayList<>();
-
-        for (ProductData product : products) {
-            try {
-                ProductSummary summary = createProductSummary(product);
-                summaries.add(summary);
-            } catch (Exception e) {
-                log.warn("Failed to create summary for product {}: {}", product.sku(), e.getMessage());
-                summaries.add(new ProductSummary(
-                    product.id(),
-                    product.sku(),
-                    product.productName(),
-                    product.cogs(),
-                    product.leadTimeDays(),
-                    product.createdAt(),
-                    product.updatedAt(),
-                    0,
-                    0,
-                    BigDecimal.ZERO
-                ));
+    /**
+     * Returns one keyset page of product summaries. Rows are read from product_data in
+     * (sort column, sku) order and only the rows scanned for this page are enriched with
+     * stock and sales, a batch at a time through the fan-out executor. Filters are applied after enrichment, so a page stops early with a
+     * cursor once products.max-scan-per-page rows have been examined.
+     */
+    public ProductPage getProductPage(ProductQuery query) {
+        Set<String> fields = validateFields(query.fields());
+        CursorPosition after = decodeCursor(query.cursor(), query.sort(), query.descending());
+        Object afterValue = after != null ? after.value() : null;
+        String afterSku = after != null ? after.sku() : null;
+
+        List<Object> items = new ArrayList<>(query.limit());
+        ProductData lastScanned = null;
+        int scanned = 0;
+        boolean exhausted = false;
+
+        while (items.size() < query.limit() && scanned < maxScanPerPage) {
+            int batchSize = Math.min(query.limit() - items.size(), maxScanPerPage - scanned);
+            List<ProductData> batch = productRepository.findPage(
+                query.sort(), query.descending(), afterValue, afterSku, batchSize);
+
+            List<ProductSummary> summaries = fanOutExecutor.invokeAll(batch.stream()
+                .map(product -> (Callable<ProductSummary>) () -> summarize(product))
+                .toList());
+            for (ProductSummary summary : summaries) {
+                if (matches(summary, query)) {
+                    items.add(project(summary, fields));
+                }
             }
+            scanned += batch.size();
+            if (!batch.isEmpty()) {
+                lastScanned = batch.get(batch.size() - 1);
+            }
+
+            if (batch.size() < batchSize) {
+                exhausted = true;
+                break;
+            }
+            afterValue = query.sort().parseCursorValue(query.sort().cursorValue(lastScanned));
+            afterSku = lastScanned.sku();
         }
 
-        return summaries;
+        String nextCursor = !exhausted && lastScanned != null
+            ? encodeCursor(new PageCursor(query.sort().field(), query.descending(),
+                query.sort().cursorValue(lastScanned), lastScanned.sku()))
+            : null;
+
+        return new ProductPage(items, nextCursor, query.limit(), scanned);
     }
 
-    private ProductSummary createProductSummary(ProductData product) {
-        Integer stockQuantity = getStockQuantity(product.sku());
-        
-        ShopifyOrdersResponse ordersResponse = shopifyClient.fetchOrdersForSku(product.sku(), 30);
-        
-        int totalQuantitySold = 0;
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-        
-        for (ShopifyOrder order : ordersResponse.orders()) {
-            for (ShopifyLineItem lineItem : order.lineItems()) {
-                if (product.sku().equals(lineItem.sku())) {
-                    int quantity = lineItem.quantity();
-                    BigDecimal unitPrice = new BigDecimal(lineItem.price());
-                    
-                    totalQuantitySold += quantity;
-                    totalRevenue = totalRevenue.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
-                }
+    private ProductSummary summarize(ProductData product) {
+        try {
+            return createProductSummary(product);
+        } catch (Exception e) {
+            log.warn("Failed to create summary for product {}: {}", product.sku(), e.getMessage());
+            return new ProductSummary(
+                product.id(),
+                product.sku(),
+                product.productName(),
+                product.cogs(),
+                product.leadTimeDays(),
+                product.createdAt(),
+                product.updatedAt(),
+                0,
+                0,
+                BigDecimal.ZERO,
+                null
+            );
+        }
+    }
+
+    private boolean matches(ProductSummary summary, ProductQuery query) {
+        if (query.lowStockOnly() && summary.stockQuantity() >= query.lowStockThreshold()) {
+            return false;
+        }
+        return !query.negativeProfitOnly() || summary.monthlyProfit().signum() < 0;
+    }
+
+    private Set<String> validateFields(Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return Set.of();
+        }
+        for (String field : fields) {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
             }
         }
-        
-        BigDecimal totalCost = product.cogs().multiply(BigDecimal.valueOf(totalQuantitySold));
-        BigDecimal monthlyProfit = totalRevenue.subtract(totalCost);
+        Set<String> projected = new HashSet<>(fields);
+        projected.add("sku");
+        return projected;
+    }
+
+    private Object project(ProductSummary summary, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return summary;
+        }
+        Map<String, Object> all = objectMapper.convertValue(summary, new TypeReference<LinkedHashMap<String, Object>>() {});
+        all.keySet().retainAll(fields);
+        return all;
+    }
+
+    private String encodeCursor(PageCursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode page cursor", e);
+        }
+    }
+
+    /**
+     * Decodes a cursor and parses its value for the sort column; any tampered part is an IllegalArgumentException
+     */
+    private CursorPosition decodeCursor(String cursor, ProductSort sort, boolean descending) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        PageCursor decoded;
+        try {
+            decoded = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), PageCursor.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (!sort.field().equals(decoded.sort()) || descending != decoded.descending()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+        try {
+            return new CursorPosition(sort.parseCursorValue(decoded.value()), decoded.sku());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    private record PageCursor(String sort, boolean descending, String value, String sku) {
+    }
+
+    private record CursorPosition(Object value, String sku) {
+    }
+
+    private ProductSummary createProductSummary(ProductData product) {
+        LLMInputData data = dataAggregatorService.aggregateDataForLLM(product);
 
         return new ProductSummary(
             product.id(),
@@ -96,40 +254,48 @@ public class ProductSummaryService {
             product.leadTimeDays(),
             product.createdAt(),
             product.updatedAt(),
-            stockQuantity,
-            totalQuantitySold,
-            monthlyProfit
+            data.currentStock().quantity(),
+            unitsSold(data.recentSales()),
+            profit(product.cogs(), data.recentSales()),
+            adviceService.computedAt(product.sku()).orElse(null)
         );
     }
 
-    private Integer getStockQuantity(String sku) {
-        try {
-            BaselinkerProductsResponse response = baselinkerClient.fetchInventoryProductData(sku);
-            
-            if (!"SUCCESS".equals(response.status())) {
-                return 0;
+    /**
+     * Dashboard values of one SKU from the inventory state store and the advice cache, without calling
+     * the upstream APIs; empty for unknown SKUs
+     */
+    public Optional<ProductDelta> delta(String sku) {
+        return productRepository.findBySku(sku).map(product -> {
+            LocalDateTime adviceComputedAt = adviceService.computedAt(sku).orElse(null);
+            SkuInventoryState state = inventoryStateStore.find(sku).orElse(null);
+            if (state == null) {
+                return new ProductDelta(sku, null, null, null, adviceComputedAt);
             }
+            return new ProductDelta(
+                sku,
+                state.stockQuantity(),
+                unitsSold(state.dailySales()),
+                profit(product.cogs(), state.dailySales()),
+                adviceComputedAt
+            );
+        });
+    }
 
-            if (response.products() == null || response.products().isEmpty()) {
-                return 0;
-            }
-
-            BaselinkerProduct product = response.products().values().stream()
-                .filter(p -> sku.equals(p.sku()))
-                .findFirst()
-                .orElse(null);
-
-            if (product == null || product.stock() == null) {
-                return 0;
-            }
+    private static int unitsSold(List<SaleData> sales) {
+        int totalQuantitySold = 0;
+        for (SaleData sale : sales) {
+            totalQuantitySold += sale.quantity();
+        }
+        return totalQuantitySold;
+    }
 
-            return product.stock().values().stream()
-                .mapToInt(Integer::intValue)
-                .sum();
-                
-        } catch (Exception e) {
-            log.warn("Failed to fetch stock for {}: {}", sku, e.getMessage());
-            return 0;
+    private static BigDecimal profit(BigDecimal cogs, List<SaleData> sales) {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (SaleData sale : sales) {
+            totalRevenue = totalRevenue.add(sale.totalAmount());
         }
+        BigDecimal totalCost = cogs.multiply(BigDecimal.valueOf(unitsSold(sales)));
+        return totalRevenue.subtract(totalCost);
     }
 }
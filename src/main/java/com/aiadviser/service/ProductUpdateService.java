@@ -0,0 +1,153 @@
+package com.aiadviser.service;
+
+import com.aiadviser.config.ProductUpdatesConfig;
+import com.aiadviser.model.ProductDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Pushes per-SKU dashboard deltas to subscribed dashboards over server-sent events.
+ * <p>
+ * Every flush-interval the SKUs marked in the change feed are drained and their current values are
+ * sent to every subscriber as one "deltas" event, so a burst of changes costs one message. Event ids
+ * carry the JVM epoch and a sequence number; a client reconnecting with a Last-Event-ID other than the
+ * latest one has missed deltas and is sent "resync" to reload instead. Flushes run on their own thread,
+ * so a slow client cannot hold up the shared scheduler.
+ */
+@Service
+public class ProductUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductUpdateService.class);
+
+    private final ProductChangeFeed productChangeFeed;
+    private final ProductSummaryService productSummaryService;
+    private final ProductUpdatesConfig config;
+    private final Counter deltaCounter;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("product-updates").daemon().factory());
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long sequence;
+    private long lastSentAt = System.nanoTime();
+
+    public ProductUpdateService(
+            ProductChangeFeed productChangeFeed,
+            ProductSummaryService productSummaryService,
+            ProductUpdatesConfig config,
+            MeterRegistry meterRegistry
+    ) {
+        this.productChangeFeed = productChangeFeed;
+        this.productSummaryService = productSummaryService;
+        this.config = config;
+        this.deltaCounter = meterRegistry.counter("product_updates.deltas");
+        meterRegistry.gaugeCollectionSize("product_updates.subscribers", List.of(), subscribers);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (config.isEnabled()) {
+            long intervalMillis = config.getFlushInterval().toMillis();
+            flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Opens a stream, or returns empty once max-subscribers streams are open
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        if (subscribers.size() >= config.getMaxSubscribers()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(config.getStreamTimeout().toMillis());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+
+        sendLock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.equals(currentEventId())) {
+                emitter.send(SseEmitter.event().id(currentEventId()).name("resync").data(""));
+            }
+            subscribers.add(emitter);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } finally {
+            sendLock.unlock();
+        }
+        return Optional.of(emitter);
+    }
+
+    private void flush() {
+        try {
+            List<String> changed = productChangeFeed.drain();
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            List<ProductDelta> deltas = new ArrayList<>(changed.size());
+            for (String sku : changed) {
+                productSummaryService.delta(sku).ifPresent(deltas::add);
+            }
+
+            sendLock.lock();
+            try {
+                if (!deltas.isEmpty()) {
+                    sequence++;
+                    String eventId = currentEventId();
+                    broadcast(() -> SseEmitter.event().id(eventId).name("deltas").data(deltas));
+                    deltaCounter.increment(deltas.size());
+                } else if (System.nanoTime() - lastSentAt >= config.getHeartbeat().toNanos()) {
+                    broadcast(() -> SseEmitter.event().comment("heartbeat"));
+                }
+            } finally {
+                sendLock.unlock();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to push product updates: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Event builders accumulate their output, so each subscriber gets a freshly built event
+     */
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping product update subscriber: {}", e.getMessage());
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+        lastSentAt = System.nanoTime();
+    }
+
+    private String currentEventId() {
+        return epoch + "-" + sequence;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+}
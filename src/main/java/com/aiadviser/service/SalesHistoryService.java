@@ -0,0 +1,96 @@
+package com.aiadviser.service;
+
+import com.aiadviser.model.SaleData;
+import com.aiadviser.model.SalesBucket;
+import com.aiadviser.model.SalesGrain;
+import com.aiadviser.model.SalesSeries;
+import com.aiadviser.repository.SalesRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Range queries over a SKU's sales, served from the rollups instead of the sales_history ledger.
+ * Day series read sales_daily. Week series read sales_weekly for every week wholly inside the range,
+ * and sales_daily only for the partial weeks at its edges, so a query over years touches about one row
+ * per week. The same daily rollup is the source of the 30-day sales window behind stock and profit forecasts.
+ */
+@Service
+public class SalesHistoryService {
+
+    static final int RECENT_SALES_DAYS = 30;
+
+    private final SalesRepository salesRepository;
+
+    public SalesHistoryService(SalesRepository salesRepository) {
+        this.salesRepository = salesRepository;
+    }
+
+    public SalesSeries series(String sku, LocalDate from, LocalDate to, SalesGrain grain) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        List<SalesBucket> buckets = switch (grain) {
+            case DAY -> salesRepository.findDaily(sku, from, to);
+            case WEEK -> weekly(sku, from, to);
+        };
+        return new SalesSeries(sku, grain, from, to, buckets);
+    }
+
+    /**
+     * A SKU's sales over the last 30 days (today and the 29 before), one SaleData per day with sales.
+     * sales_daily is seeded once from the Shopify orders API and then kept current by order webhooks,
+     * so this never calls Shopify.
+     */
+    public List<SaleData> recentDailySales(String sku) {
+        LocalDate today = LocalDate.now();
+        return salesRepository.findDaily(sku, today.minusDays(RECENT_SALES_DAYS - 1), today).stream()
+            .map(day -> new SaleData(
+                day.periodStart(),
+                day.quantity(),
+                day.quantity() > 0
+                    ? day.totalAmount().divide(BigDecimal.valueOf(day.quantity()), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO,
+                day.totalAmount()
+            ))
+            .toList();
+    }
+
+    private List<SalesBucket> weekly(String sku, LocalDate from, LocalDate to) {
+        LocalDate firstFullWeek = from.getDayOfWeek() == DayOfWeek.MONDAY
+            ? from
+            : SalesGrain.WEEK.periodStart(from).plusWeeks(1);
+        LocalDate lastFullWeek = to.getDayOfWeek() == DayOfWeek.SUNDAY
+            ? SalesGrain.WEEK.periodStart(to)
+            : SalesGrain.WEEK.periodStart(to).minusWeeks(1);
+
+        Map<LocalDate, SalesBucket> weeks = new TreeMap<>();
+        if (firstFullWeek.isAfter(lastFullWeek)) {
+            rollUpDays(weeks, salesRepository.findDaily(sku, from, to));
+        } else {
+            if (from.isBefore(firstFullWeek)) {
+                rollUpDays(weeks, salesRepository.findDaily(sku, from, firstFullWeek.minusDays(1)));
+            }
+            salesRepository.findWeekly(sku, firstFullWeek, lastFullWeek)
+                .forEach(week -> weeks.put(week.periodStart(), week));
+            if (!lastFullWeek.plusWeeks(1).isAfter(to)) {
+                rollUpDays(weeks, salesRepository.findDaily(sku, lastFullWeek.plusWeeks(1), to));
+            }
+        }
+        return List.copyOf(weeks.values());
+    }
+
+    private static void rollUpDays(Map<LocalDate, SalesBucket> weeks, List<SalesBucket> days) {
+        for (SalesBucket day : days) {
+            LocalDate weekStart = SalesGrain.WEEK.periodStart(day.periodStart());
+            SalesBucket asWeek = new SalesBucket(weekStart, day.quantity(), day.totalAmount(), day.orderCount());
+            weeks.merge(weekStart, asWeek, SalesBucket::plus);
+        }
+    }
+}
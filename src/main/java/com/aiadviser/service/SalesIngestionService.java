@@ -0,0 +1,126 @@
+package com.aiadviser.service;
+
+import com.aiadviser.model.SalesGrain;
+import com.aiadviser.model.shopify.ShopifyLineItem;
+import com.aiadviser.model.shopify.ShopifyOrder;
+import com.aiadviser.repository.ProductRepository;
+import com.aiadviser.repository.SalesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ingests Shopify orders, pushed by webhooks or pulled once by the sales seed. The order id, its line items
+ * in sales_history and the sales_daily and sales_weekly aggregates are written in one transaction, so an order
+ * delivered twice, or both seeded and pushed, is either fully counted once or not at all. The touched SKUs'
+ * in-memory sales are then re-read from sales_daily.
+ */
+@Service
+public class SalesIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesIngestionService.class);
+
+    private final SalesRepository salesRepository;
+    private final ProductRepository productRepository;
+    private final InventoryStateStore inventoryStateStore;
+    private final SalesHistoryService salesHistoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesIngestionService(
+            SalesRepository salesRepository,
+            ProductRepository productRepository,
+            InventoryStateStore inventoryStateStore,
+            SalesHistoryService salesHistoryService,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.salesRepository = salesRepository;
+        this.productRepository = productRepository;
+        this.inventoryStateStore = inventoryStateStore;
+        this.salesHistoryService = salesHistoryService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Returns false if the order was already ingested
+     */
+    public boolean ingest(ShopifyOrder order) {
+        Set<String> skus = write(order);
+        if (skus == null) {
+            return false;
+        }
+        skus.forEach(this::reloadSales);
+        return true;
+    }
+
+    /**
+     * Ingests a batch of orders, re-reading each touched SKU's sales once at the end.
+     * Returns how many orders were new.
+     */
+    public int ingestAll(List<ShopifyOrder> orders) {
+        Set<String> touched = new LinkedHashSet<>();
+        int ingested = 0;
+        for (ShopifyOrder order : orders) {
+            Set<String> skus = write(order);
+            if (skus != null) {
+                touched.addAll(skus);
+                ingested++;
+            }
+        }
+        touched.forEach(this::reloadSales);
+        return ingested;
+    }
+
+    /**
+     * Writes the order in one transaction and returns the SKUs it sold, or null if it was already ingested
+     */
+    private Set<String> write(ShopifyOrder order) {
+        Set<String> skus = transactionTemplate.execute(status -> {
+            if (!salesRepository.markOrderIngested(order.id())) {
+                return null;
+            }
+            return writeSales(order);
+        });
+
+        if (skus == null) {
+            log.debug("Shopify order {} already ingested, skipping", order.id());
+        }
+        return skus;
+    }
+
+    private void reloadSales(String sku) {
+        if (inventoryStateStore.find(sku).isEmpty()) {
+            return;
+        }
+        inventoryStateStore.replaceSales(sku, salesHistoryService.recentDailySales(sku));
+    }
+
+    private Set<String> writeSales(ShopifyOrder order) {
+        LocalDate saleDate = LocalDate.parse(order.createdAt().substring(0, 10));
+        Set<String> skus = new LinkedHashSet<>();
+
+        for (ShopifyLineItem lineItem : order.lineItems() != null ? order.lineItems() : List.<ShopifyLineItem>of()) {
+            if (lineItem.sku() == null || lineItem.price() == null || lineItem.quantity() == null || lineItem.quantity() <= 0) {
+                continue;
+            }
+            if (productRepository.findBySku(lineItem.sku()).isEmpty()) {
+                log.debug("Ignoring line item for unknown SKU {} in order {}", lineItem.sku(), order.id());
+                continue;
+            }
+
+            BigDecimal unitPrice = new BigDecimal(lineItem.price());
+            BigDecimal totalAmount = unitPrice.multiply(BigDecimal.valueOf(lineItem.quantity()));
+            salesRepository.insertSale(lineItem.sku(), saleDate, lineItem.quantity(), unitPrice, totalAmount);
+            salesRepository.addToDaily(lineItem.sku(), saleDate, lineItem.quantity(), totalAmount);
+            salesRepository.addToWeekly(lineItem.sku(), SalesGrain.WEEK.periodStart(saleDate), lineItem.quantity(), totalAmount);
+            skus.add(lineItem.sku());
+        }
+        return skus;
+    }
+}
@@ -0,0 +1,60 @@
+package com.aiadviser.service;
+
+import com.aiadviser.client.ShopifyClient;
+import com.aiadviser.config.WebhookConfig;
+import com.aiadviser.repository.SalesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds sales_daily and sales_weekly once from the Shopify orders API, a page at a time; from then on
+ * sales arrive only through order webhooks. Seeded orders go through the same ingestion as webhooks,
+ * so an order that is both pulled here and pushed later is counted once. The seed is recorded in sales_seeds only after every
+ * order was ingested, so a failed seed is retried on the next run and skips the orders it already wrote.
+ */
+@Service
+public class SalesSeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesSeedService.class);
+    private static final String SOURCE = "shopify";
+
+    private final ShopifyClient shopifyClient;
+    private final SalesIngestionService salesIngestionService;
+    private final SalesRepository salesRepository;
+    private final WebhookConfig config;
+
+    public SalesSeedService(
+            ShopifyClient shopifyClient,
+            SalesIngestionService salesIngestionService,
+            SalesRepository salesRepository,
+            WebhookConfig config
+    ) {
+        this.shopifyClient = shopifyClient;
+        this.salesIngestionService = salesIngestionService;
+        this.salesRepository = salesRepository;
+        this.config = config;
+    }
+
+    /**
+     * Seeds the sales aggregates unless that was already done. Line items for SKUs missing from
+     * product_data are skipped, so this must run after the product sync.
+     */
+    public void seedIfNeeded() {
+        if (salesRepository.isSeeded(SOURCE)) {
+            log.debug("Sales aggregates already seeded from Shopify");
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        AtomicInteger ingested = new AtomicInteger();
+        int fetched = shopifyClient.fetchOrders(config.getSeedDays(),
+            page -> ingested.addAndGet(salesIngestionService.ingestAll(page)));
+        salesRepository.markSeeded(SOURCE, config.getSeedDays(), fetched);
+
+        log.info("Seeded sales aggregates from {} Shopify orders of the last {} days ({} new) in {} ms",
+            fetched, config.getSeedDays(), ingested.get(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
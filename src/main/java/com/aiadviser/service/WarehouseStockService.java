@@ -0,0 +1,65 @@
+package com.aiadviser.service;
+
+import com.aiadviser.config.StockJournalConfig;
+import com.aiadviser.model.StockData;
+import com.aiadviser.model.WarehouseStock;
+import com.aiadviser.repository.WarehouseStockRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves stock from the local warehouse_stock table once the journal consumer has bootstrapped it.
+ * Until then, or for SKUs the journal has not seen, callers fall back to reading Baselinker.
+ */
+@Service
+public class WarehouseStockService {
+
+    public static final String JOURNAL = "baselinker-stock";
+
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final boolean enabled;
+    private volatile boolean bootstrapped;
+
+    public WarehouseStockService(WarehouseStockRepository warehouseStockRepository, StockJournalConfig config) {
+        this.warehouseStockRepository = warehouseStockRepository;
+        this.enabled = config.isEnabled();
+    }
+
+    public Optional<StockData> findLocal(String sku) {
+        if (!enabled || !isBootstrapped()) {
+            return Optional.empty();
+        }
+        List<WarehouseStock> stock = warehouseStockRepository.findBySku(sku);
+        if (stock.isEmpty()) {
+            return Optional.empty();
+        }
+        int total = stock.stream().mapToInt(WarehouseStock::quantity).sum();
+        return Optional.of(new StockData(sku, total, describe(stock)));
+    }
+
+    /**
+     * Same "warehouse (location): quantity" summary as is built from a Baselinker product
+     */
+    public static String describe(List<WarehouseStock> stock) {
+        StringBuilder info = new StringBuilder();
+        for (WarehouseStock warehouse : stock) {
+            if (info.length() > 0) info.append(", ");
+            info.append(warehouse.warehouseId())
+                .append(" (").append(warehouse.location() != null ? warehouse.location() : "Unknown").append("): ")
+                .append(warehouse.quantity());
+        }
+        return info.toString();
+    }
+
+    /**
+     * The consumer may run on another node, so the cursor row is the signal; once seen it is remembered
+     */
+    private boolean isBootstrapped() {
+        if (!bootstrapped) {
+            bootstrapped = warehouseStockRepository.findCursor(JOURNAL).isPresent();
+        }
+        return bootstrapped;
+    }
+}
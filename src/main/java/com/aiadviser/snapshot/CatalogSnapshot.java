@@ -0,0 +1,13 @@
+package com.aiadviser.snapshot;
+
+import com.aiadviser.model.ProductData;
+import com.aiadviser.model.SkuInventoryState;
+
+import java.util.List;
+
+public record CatalogSnapshot(
+    long createdAt,
+    List<ProductData> products,
+    List<SkuInventoryState> inventoryStates
+) {
+}
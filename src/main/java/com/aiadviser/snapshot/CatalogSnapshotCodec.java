@@ -0,0 +1,196 @@
+package com.aiadviser.snapshot;
+
+import com.aiadviser.model.ProductData;
+import com.aiadviser.model.SaleData;
+import com.aiadviser.model.SkuInventoryState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot format:
+ * <pre>
+ * header : magic(int) formatVersion(short) createdAt(long) payloadLength(int) payloadCrc32(int)
+ * payload: productCount(int) product*  stateCount(int) state*
+ * product: id(long) sku(str) name(str) cogs(dec) leadTimeDays(int) createdAt(long) updatedAt(long)
+ * state  : sku(str) stock(int) warehouseInfo(str) observedAt(long) bucketCount(int) bucket*
+ * bucket : epochDay(int) quantity(int) unitPrice(dec) totalAmount(dec)
+ * str    : byteLength(int) utf8Bytes, length -1 for null
+ * dec    : scale(byte) unscaledValue(long)
+ * </pre>
+ * Timestamps are epoch millis (UTC), -1 for null. Decoding reads straight from the given buffer,
+ * so a memory-mapped file is parsed without copying it onto the heap first.
+ */
+public final class CatalogSnapshotCodec {
+
+    static final int MAGIC = 0x41495353;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 2 + 8 + 4 + 4;
+
+    private CatalogSnapshotCodec() {
+    }
+
+    public static byte[] encode(CatalogSnapshot snapshot) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64 * 1024);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+
+            payload.writeInt(snapshot.products().size());
+            for (ProductData product : snapshot.products()) {
+                payload.writeLong(product.id() != null ? product.id() : -1L);
+                writeString(payload, product.sku());
+                writeString(payload, product.productName());
+                writeDecimal(payload, product.cogs());
+                payload.writeInt(product.leadTimeDays());
+                payload.writeLong(toEpochMillis(product.createdAt()));
+                payload.writeLong(toEpochMillis(product.updatedAt()));
+            }
+
+            payload.writeInt(snapshot.inventoryStates().size());
+            for (SkuInventoryState state : snapshot.inventoryStates()) {
+                writeString(payload, state.sku());
+                payload.writeInt(state.stockQuantity());
+                writeString(payload, state.warehouseInfo());
+                payload.writeLong(state.observedAt());
+                payload.writeInt(state.dailySales().size());
+                for (SaleData bucket : state.dailySales()) {
+                    payload.writeInt((int) bucket.date().toEpochDay());
+                    payload.writeInt(bucket.quantity());
+                    writeDecimal(payload, bucket.unitPrice());
+                    writeDecimal(payload, bucket.totalAmount());
+                }
+            }
+            payload.flush();
+
+            byte[] body = payloadBytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + body.length);
+            out.putInt(MAGIC);
+            out.putShort(FORMAT_VERSION);
+            out.putLong(snapshot.createdAt());
+            out.putInt(body.length);
+            out.putInt((int) crc.getValue());
+            out.put(body);
+            return out.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static CatalogSnapshot decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Snapshot too short: " + buffer.remaining() + " bytes");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a catalog snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot format version: " + version);
+        }
+        long createdAt = buffer.getLong();
+        int payloadLength = buffer.getInt();
+        int expectedCrc = buffer.getInt();
+        if (buffer.remaining() < payloadLength) {
+            throw new IllegalArgumentException("Truncated snapshot payload");
+        }
+
+        ByteBuffer payload = buffer.slice(buffer.position(), payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalArgumentException("Snapshot checksum mismatch");
+        }
+
+        int productCount = payload.getInt();
+        List<ProductData> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            long id = payload.getLong();
+            products.add(new ProductData(
+                id >= 0 ? id : null,
+                readString(payload),
+                readString(payload),
+                readDecimal(payload),
+                payload.getInt(),
+                fromEpochMillis(payload.getLong()),
+                fromEpochMillis(payload.getLong())
+            ));
+        }
+
+        int stateCount = payload.getInt();
+        List<SkuInventoryState> states = new ArrayList<>(stateCount);
+        for (int i = 0; i < stateCount; i++) {
+            String sku = readString(payload);
+            int stock = payload.getInt();
+            String warehouseInfo = readString(payload);
+            long observedAt = payload.getLong();
+            int bucketCount = payload.getInt();
+            List<SaleData> buckets = new ArrayList<>(bucketCount);
+            for (int b = 0; b < bucketCount; b++) {
+                buckets.add(new SaleData(
+                    LocalDate.ofEpochDay(payload.getInt()),
+                    payload.getInt(),
+                    readDecimal(payload),
+                    readDecimal(payload)
+                ));
+            }
+            states.add(new SkuInventoryState(sku, stock, warehouseInfo, buckets, observedAt, true));
+        }
+
+        return new CatalogSnapshot(createdAt, products, states);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        BigDecimal decimal = value != null ? value : BigDecimal.ZERO;
+        out.writeByte(decimal.scale());
+        out.writeLong(decimal.unscaledValue().longValueExact());
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer buffer) {
+        int scale = buffer.get();
+        return new BigDecimal(BigInteger.valueOf(buffer.getLong()), scale);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : -1L;
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return millis >= 0 ? LocalDateTime.ofEpochSecond(
+            Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC) : null;
+    }
+}
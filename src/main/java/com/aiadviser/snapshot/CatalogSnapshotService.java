@@ -0,0 +1,132 @@
+package com.aiadviser.snapshot;
+
+import com.aiadviser.config.SnapshotConfig;
+import com.aiadviser.model.ProductData;
+import com.aiadviser.model.SkuInventoryState;
+import com.aiadviser.repository.ProductRepository;
+import com.aiadviser.service.InventoryStateStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persists product_data and the inventory state store to a memory-mapped binary snapshot,
+ * periodically and on shutdown, and restores it on startup for warm restarts.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final SnapshotConfig config;
+    private final ProductRepository productRepository;
+    private final InventoryStateStore inventoryStateStore;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public CatalogSnapshotService(
+            SnapshotConfig config,
+            ProductRepository productRepository,
+            InventoryStateStore inventoryStateStore
+    ) {
+        this.config = config;
+        this.productRepository = productRepository;
+        this.inventoryStateStore = inventoryStateStore;
+    }
+
+    @Scheduled(
+        initialDelayString = "${snapshot.write-interval:PT5M}",
+        fixedDelayString = "${snapshot.write-interval:PT5M}"
+    )
+    public void writePeriodically() {
+        if (config.isEnabled()) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (config.isEnabled()) {
+            writeSnapshot();
+        }
+    }
+
+    public void writeSnapshot() {
+        long startedAt = System.nanoTime();
+        Path target = Path.of(config.getPath());
+
+        writeLock.lock();
+        try {
+            List<ProductData> products = productRepository.findAll();
+            List<SkuInventoryState> states = List.copyOf(inventoryStateStore.getAll());
+            byte[] bytes = CatalogSnapshotCodec.encode(new CatalogSnapshot(System.currentTimeMillis(), products, states));
+
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = parent.resolve(target.getFileName() + ".tmp");
+
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes.length);
+                mapped.put(bytes);
+                mapped.force();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            log.info("Wrote catalog snapshot with {} products and {} SKU states ({} bytes) in {} ms",
+                products.size(), states.size(), bytes.length, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to write catalog snapshot to {}: {}", target, e.getMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the snapshot, inserting products missing from product_data and seeding the inventory state store.
+     * Restored state is served until the background refresh replaces it.
+     */
+    public void restoreSnapshot() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        Path source = Path.of(config.getPath());
+        if (!Files.exists(source)) {
+            log.info("No catalog snapshot found at {}, starting cold", source);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CatalogSnapshot snapshot = CatalogSnapshotCodec.decode(mapped);
+
+            int insertedProducts = 0;
+            for (ProductData product : snapshot.products()) {
+                if (productRepository.insertIfAbsent(product)) {
+                    insertedProducts++;
+                }
+            }
+            snapshot.inventoryStates().forEach(inventoryStateStore::restore);
+
+            log.info("Restored catalog snapshot: {} products ({} inserted), {} SKU states in {} ms",
+                snapshot.products().size(), insertedProducts, snapshot.inventoryStates().size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", source, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.aiadviser.startup;
+
+import com.aiadviser.snapshot.CatalogSnapshotService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the catalog snapshot before the background sync starts,
+ * so products and stock can be served right after boot.
+ */
+@Component
+public class SnapshotRestoreRunner implements ApplicationRunner {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    public SnapshotRestoreRunner(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        catalogSnapshotService.restoreSnapshot();
+    }
+}
@@ -1,26 +1,67 @@
 package com.aiadviser.startup;
 
+import com.aiadviser.lock.JobLock;
+import com.aiadviser.model.SkuInventoryState;
+import com.aiadviser.model.SyncStatus;
+import com.aiadviser.service.DataAggregatorService;
 import com.aiadviser.service.DataSyncService;
+import com.aiadviser.service.InventoryStateStore;
+import com.aiadviser.service.SalesSeedService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Kicks off the product synchronization in the background once the application is ready,
+ * so startup time does not depend on catalog size. Progress is exposed via /api/readiness
+ * while the API keeps serving whatever product_data already holds.
+ * product_data is shared, so with several replicas only the node holding the job lock syncs it and then
+ * seeds the sales aggregates if they have never been seeded; restored inventory state is per node and is
+ * refreshed everywhere.
+ */
 @Component
-public class StartupDataSyncRunner implements ApplicationRunner {
+public class StartupDataSyncRunner {
 
     private static final Logger log = LoggerFactory.getLogger(StartupDataSyncRunner.class);
+    private static final String JOB_NAME = "startup-product-sync";
 
     private final DataSyncService dataSyncService;
+    private final JobLock jobLock;
+    private final DataAggregatorService dataAggregatorService;
+    private final InventoryStateStore inventoryStateStore;
+    private final SalesSeedService salesSeedService;
 
-    public StartupDataSyncRunner(DataSyncService dataSyncService) {
+    public StartupDataSyncRunner(
+            DataSyncService dataSyncService,
+            JobLock jobLock,
+            DataAggregatorService dataAggregatorService,
+            InventoryStateStore inventoryStateStore,
+            SalesSeedService salesSeedService
+    ) {
         this.dataSyncService = dataSyncService;
+        this.jobLock = jobLock;
+        this.dataAggregatorService = dataAggregatorService;
+        this.inventoryStateStore = inventoryStateStore;
+        this.salesSeedService = salesSeedService;
     }
 
-    @Override
-    public void run(ApplicationArguments args) throws Exception {
-        log.info("=== Starting automatic product synchronization on application startup ===");
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        boolean ran = jobLock.runExclusively(JOB_NAME, this::syncProducts);
+        if (!ran) {
+            log.info("Startup product synchronization is running on another node, skipping it here");
+            dataSyncService.markSyncedElsewhere();
+        }
+
+        refreshRestoredInventoryState();
+    }
+
+    private void syncProducts() {
+        log.info("=== Starting automatic product synchronization in the background ===");
         
         try {
             dataSyncService.syncProductsFromExternalSources();
@@ -28,5 +69,43 @@ public class StartupDataSyncRunner implements ApplicationRunner {
         } catch (Exception e) {
             log.error("=== Startup product synchronization failed: {} ===", e.getMessage(), e);
         }
+
+        seedSales();
+    }
+
+    /**
+     * Seeding needs the catalog in product_data, so it is skipped when the sync did not finish
+     */
+    private void seedSales() {
+        if (dataSyncService.getSyncStatus().state() != SyncStatus.State.READY) {
+            log.warn("Skipping the Shopify sales seed because the product synchronization did not complete");
+            return;
+        }
+        try {
+            salesSeedService.seedIfNeeded();
+        } catch (Exception e) {
+            log.error("Seeding sales aggregates from Shopify failed, retrying on the next start: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces stock and sales restored from the snapshot with fresh data, one SKU at a time
+     */
+    private void refreshRestoredInventoryState() {
+        int refreshed = 0;
+        for (SkuInventoryState state : inventoryStateStore.getAll()) {
+            if (!state.restored()) {
+                continue;
+            }
+            try {
+                dataAggregatorService.refreshInventoryState(state.sku());
+                refreshed++;
+            } catch (Exception e) {
+                log.warn("Failed to refresh restored inventory state for {}: {}", state.sku(), e.getMessage());
+            }
+        }
+        if (refreshed > 0) {
+            log.info("Refreshed {} SKU(s) restored from the catalog snapshot", refreshed);
+        }
     }
 }
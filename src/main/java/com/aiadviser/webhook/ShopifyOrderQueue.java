@@ -0,0 +1,156 @@
+package com.aiadviser.webhook;
+
+import com.aiadviser.config.WebhookConfig;
+import com.aiadviser.model.shopify.ShopifyOrder;
+import com.aiadviser.repository.ShopifyOrderInboxRepository;
+import com.aiadviser.repository.ShopifyOrderInboxRepository.PendingOrder;
+import com.aiadviser.service.SalesIngestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Durable hand-off between the webhook endpoint and ingestion. The endpoint stores the verified payload
+ * in shopify_order_inbox before acknowledging, so an acknowledged order never lives only in memory, and
+ * a single worker ingests due rows in arrival order, deleting each once it is ingested. Webhooks are the
+ * only source of sales after the one-time seed, so an order is never dropped: a failed ingest stays in
+ * the inbox and is retried with a doubling backoff, which is safe because the order id and its sales
+ * commit together. Rows still pending at shutdown are ingested after the next start.
+ */
+@Component
+public class ShopifyOrderQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ShopifyOrderQueue.class);
+    private static final int BATCH_SIZE = 100;
+    private static final Duration IDLE_POLL = Duration.ofSeconds(1);
+
+    private final ShopifyOrderInboxRepository inboxRepository;
+    private final SalesIngestionService salesIngestionService;
+    private final WebhookConfig config;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile Thread worker;
+
+    public ShopifyOrderQueue(
+            ShopifyOrderInboxRepository inboxRepository,
+            SalesIngestionService salesIngestionService,
+            WebhookConfig config,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.inboxRepository = inboxRepository;
+        this.salesIngestionService = salesIngestionService;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("webhooks.shopify.queue.depth", depth);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofPlatform().name("shopify-order-ingest").daemon().start(this::drain);
+    }
+
+    /**
+     * Stores the order for ingestion. Returns false when queue-capacity orders are already pending;
+     * a database failure propagates, so the webhook is not acknowledged.
+     */
+    public boolean offer(ShopifyOrder order, String payload) {
+        if (inboxRepository.countPending() >= config.getQueueCapacity()) {
+            count("rejected");
+            return false;
+        }
+        count(inboxRepository.add(order.id(), payload) ? "queued" : "duplicate");
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+        return true;
+    }
+
+    private void drain() {
+        while (running) {
+            List<PendingOrder> due;
+            try {
+                due = inboxRepository.findDue(BATCH_SIZE);
+                depth.set(inboxRepository.countPending());
+            } catch (Exception e) {
+                log.warn("Could not read the Shopify order inbox: {}", e.getMessage());
+                due = List.of();
+            }
+            if (due.isEmpty()) {
+                LockSupport.parkNanos(IDLE_POLL.toNanos());
+                continue;
+            }
+            for (PendingOrder pending : due) {
+                if (!running) {
+                    return;
+                }
+                ingest(pending);
+            }
+        }
+    }
+
+    private void ingest(PendingOrder pending) {
+        try {
+            ShopifyOrder order = objectMapper.readValue(pending.payload(), ShopifyOrder.class);
+            count(salesIngestionService.ingest(order) ? "ingested" : "duplicate");
+            inboxRepository.delete(pending.orderId());
+        } catch (Exception e) {
+            count("failed");
+            Duration retryIn = retryDelay(pending.attempts());
+            log.error("Failed to ingest Shopify order {} (attempt {}), retrying in {}: {}",
+                pending.orderId(), pending.attempts() + 1, retryIn, e.getMessage(), e);
+            try {
+                inboxRepository.markFailed(pending.orderId(), retryIn.toMillis(), truncate(e.getMessage()));
+            } catch (Exception markError) {
+                log.warn("Could not record the failed attempt for Shopify order {}: {}",
+                    pending.orderId(), markError.getMessage());
+            }
+        }
+    }
+
+    private Duration retryDelay(int attempts) {
+        Duration delay = config.getRetryBackoff().multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(config.getMaxRetryBackoff()) > 0 ? config.getMaxRetryBackoff() : delay;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("webhooks.shopify.orders", "outcome", outcome).increment();
+    }
+
+    /**
+     * Lets the order in flight finish for up to five seconds; anything still pending stays in the inbox
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread current = worker;
+        LockSupport.unpark(current);
+        current.join(5000);
+        current.interrupt();
+        try {
+            int pending = inboxRepository.countPending();
+            if (pending > 0) {
+                log.info("{} Shopify order(s) left in the inbox, they are ingested after the next start", pending);
+            }
+        } catch (Exception e) {
+            log.debug("Could not count pending Shopify orders at shutdown: {}", e.getMessage());
+        }
+    }
+}
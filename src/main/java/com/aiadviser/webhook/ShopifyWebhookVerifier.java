@@ -0,0 +1,52 @@
+package com.aiadviser.webhook;
+
+import com.aiadviser.config.ShopifyConfig;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the X-Shopify-Hmac-Sha256 header: base64 HMAC-SHA256 of the raw request body keyed with
+ * the app's API secret. The comparison is constant-time.
+ */
+@Component
+public class ShopifyWebhookVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ShopifyConfig shopifyConfig;
+
+    public ShopifyWebhookVerifier(ShopifyConfig shopifyConfig) {
+        this.shopifyConfig = shopifyConfig;
+    }
+
+    public boolean isValid(byte[] body, String hmacHeader) {
+        String secret = shopifyConfig.getApiSecret();
+        if (secret == null || secret.isBlank() || hmacHeader == null || hmacHeader.isBlank()) {
+            return false;
+        }
+
+        byte[] provided;
+        try {
+            provided = Base64.getDecoder().decode(hmacHeader.trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(body, secret), provided);
+    }
+
+    private static byte[] sign(byte[] body, String secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
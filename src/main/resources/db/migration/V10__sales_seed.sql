@@ -0,0 +1,7 @@
+-- Marks sales_daily as seeded from the Shopify orders API; later sales arrive only through webhooks
+CREATE TABLE sales_seeds (
+    source VARCHAR(50) PRIMARY KEY,
+    window_days INT NOT NULL,
+    order_count INT NOT NULL,
+    seeded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
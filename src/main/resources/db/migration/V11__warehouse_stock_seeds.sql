@@ -0,0 +1,6 @@
+-- Journal position a SKU's full stock read already includes; its events up to there are not applied again
+CREATE TABLE warehouse_stock_seeds (
+    sku VARCHAR(100) PRIMARY KEY,
+    seeded_through BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,11 @@
+-- Verified Shopify webhook payloads, stored before the webhook is acknowledged and deleted once ingested
+CREATE TABLE shopify_order_inbox (
+    order_id BIGINT PRIMARY KEY,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(500),
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_order_inbox_due ON shopify_order_inbox(next_attempt_at);
@@ -0,0 +1,36 @@
+CREATE TABLE product_data (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sku VARCHAR(100) NOT NULL UNIQUE,
+    product_name VARCHAR(255) NOT NULL,
+    cogs DECIMAL(10, 2) NOT NULL,
+    lead_time_days INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE sales_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sku VARCHAR(100) NOT NULL,
+    sale_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10, 2) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (sku) REFERENCES product_data(sku) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_sales_sku ON sales_history(sku);
+CREATE INDEX idx_sales_date ON sales_history(sale_date);
+
+CREATE TABLE chat_sessions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sku VARCHAR(100) NOT NULL,
+    session_data TEXT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (sku) REFERENCES product_data(sku) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_chat_sku ON chat_sessions(sku);
+CREATE INDEX idx_chat_expires ON chat_sessions(expires_at);
@@ -0,0 +1,4 @@
+-- Versions backing the ETags of /api/products and /api/chat/session/{sku}
+ALTER TABLE chat_sessions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_product_updated_at ON product_data(updated_at);
@@ -0,0 +1,17 @@
+-- Shared cache tier (cache.store=jdbc); bumping a region's version invalidates all of its entries
+CREATE TABLE cache_regions (
+    region VARCHAR(100) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE cache_entries (
+    region VARCHAR(100) NOT NULL,
+    cache_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    region_version BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (region, cache_key)
+);
+
+CREATE INDEX idx_cache_expires ON cache_entries(expires_at);
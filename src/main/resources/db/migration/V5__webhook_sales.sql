@@ -0,0 +1,15 @@
+-- Shopify order webhooks: processed order ids for deduplication and per-SKU daily sales aggregates
+CREATE TABLE shopify_webhook_orders (
+    order_id BIGINT PRIMARY KEY,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE sales_daily (
+    sku VARCHAR(100) NOT NULL,
+    sale_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    total_amount DECIMAL(12, 2) NOT NULL,
+    order_count INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sku, sale_date)
+);
@@ -0,0 +1,15 @@
+-- Local per-warehouse stock maintained from the Baselinker journal, and the consumer's position in it
+CREATE TABLE warehouse_stock (
+    sku VARCHAR(100) NOT NULL,
+    warehouse_id VARCHAR(100) NOT NULL,
+    quantity INT NOT NULL,
+    location VARCHAR(100),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sku, warehouse_id)
+);
+
+CREATE TABLE journal_cursors (
+    journal VARCHAR(100) PRIMARY KEY,
+    last_log_id BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
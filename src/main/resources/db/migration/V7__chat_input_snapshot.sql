@@ -0,0 +1,4 @@
+-- Aggregated LLM input reused across the turns of a SKU's chat
+ALTER TABLE chat_sessions ADD COLUMN input_snapshot TEXT;
+ALTER TABLE chat_sessions ADD COLUMN input_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE chat_sessions ADD COLUMN input_captured_at BIGINT;
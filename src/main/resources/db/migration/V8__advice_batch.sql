@@ -0,0 +1,20 @@
+-- Nightly advice runs with their checkpoint, and the advice each run produced per SKU
+CREATE TABLE advice_batch_runs (
+    run_date DATE PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_sku VARCHAR(100),
+    processed INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    deadline_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE advice_batch_results (
+    sku VARCHAR(100) PRIMARY KEY,
+    run_date DATE NOT NULL,
+    advice TEXT NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,19 @@
+-- Composite access path for per-SKU date ranges over the ledger; it also covers lookups by sku alone
+CREATE INDEX idx_sales_sku_date ON sales_history(sku, sale_date);
+DROP INDEX idx_sales_sku;
+
+-- Per-SKU weekly aggregates, weeks starting on Monday, maintained alongside sales_daily
+CREATE TABLE sales_weekly (
+    sku VARCHAR(100) NOT NULL,
+    week_start DATE NOT NULL,
+    quantity INT NOT NULL,
+    total_amount DECIMAL(14, 2) NOT NULL,
+    order_count INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sku, week_start)
+);
+
+INSERT INTO sales_weekly (sku, week_start, quantity, total_amount, order_count)
+SELECT sku, DATEADD('DAY', 1 - ISO_DAY_OF_WEEK(sale_date), sale_date), SUM(quantity), SUM(total_amount), SUM(order_count)
+FROM sales_daily
+GROUP BY sku, DATEADD('DAY', 1 - ISO_DAY_OF_WEEK(sale_date), sale_date);
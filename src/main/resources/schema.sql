@@ -1,3 +1,17 @@
+-- Demo schema, recreated on every boot. The prod profile applies db/migration instead; keep both in sync.
+DROP TABLE IF EXISTS advice_batch_results;
+DROP TABLE IF EXISTS advice_batch_runs;
+DROP TABLE IF EXISTS warehouse_stock_seeds;
+DROP TABLE IF EXISTS journal_cursors;
+DROP TABLE IF EXISTS warehouse_stock;
+DROP TABLE IF EXISTS sales_seeds;
+DROP TABLE IF EXISTS sales_weekly;
+DROP TABLE IF EXISTS sales_daily;
+DROP TABLE IF EXISTS shopify_order_inbox;
+DROP TABLE IF EXISTS shopify_webhook_orders;
+DROP TABLE IF EXISTS cache_entries;
+DROP TABLE IF EXISTS cache_regions;
+DROP TABLE IF EXISTS job_leases;
 DROP TABLE IF EXISTS sales_history;
 DROP TABLE IF EXISTS product_data;
 
@@ -11,6 +25,8 @@ CREATE TABLE product_data (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX idx_product_updated_at ON product_data(updated_at);
+
 CREATE TABLE sales_history (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     sku VARCHAR(100) NOT NULL,
@@ -22,9 +38,52 @@ CREATE TABLE sales_history (
     FOREIGN KEY (sku) REFERENCES product_data(sku) ON DELETE CASCADE
 );
 
-CREATE INDEX idx_sales_sku ON sales_history(sku);
+CREATE INDEX idx_sales_sku_date ON sales_history(sku, sale_date);
 CREATE INDEX idx_sales_date ON sales_history(sale_date);
 
+CREATE TABLE shopify_webhook_orders (
+    order_id BIGINT PRIMARY KEY,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE shopify_order_inbox (
+    order_id BIGINT PRIMARY KEY,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(500),
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_order_inbox_due ON shopify_order_inbox(next_attempt_at);
+
+CREATE TABLE sales_daily (
+    sku VARCHAR(100) NOT NULL,
+    sale_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    total_amount DECIMAL(12, 2) NOT NULL,
+    order_count INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sku, sale_date)
+);
+
+CREATE TABLE sales_weekly (
+    sku VARCHAR(100) NOT NULL,
+    week_start DATE NOT NULL,
+    quantity INT NOT NULL,
+    total_amount DECIMAL(14, 2) NOT NULL,
+    order_count INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sku, week_start)
+);
+
+CREATE TABLE sales_seeds (
+    source VARCHAR(50) PRIMARY KEY,
+    window_days INT NOT NULL,
+    order_count INT NOT NULL,
+    seeded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 CREATE TABLE chat_sessions (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     sku VARCHAR(100) NOT NULL,
@@ -32,12 +91,81 @@ CREATE TABLE chat_sessions (
     expires_at TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    input_snapshot TEXT,
+    input_version BIGINT NOT NULL DEFAULT 0,
+    input_captured_at BIGINT,
     FOREIGN KEY (sku) REFERENCES product_data(sku) ON DELETE CASCADE
 );
 
 CREATE INDEX idx_chat_sku ON chat_sessions(sku);
 CREATE INDEX idx_chat_expires ON chat_sessions(expires_at);
 
+CREATE TABLE warehouse_stock (
+    sku VARCHAR(100) NOT NULL,
+    warehouse_id VARCHAR(100) NOT NULL,
+    quantity INT NOT NULL,
+    location VARCHAR(100),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sku, warehouse_id)
+);
+
+CREATE TABLE journal_cursors (
+    journal VARCHAR(100) PRIMARY KEY,
+    last_log_id BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE warehouse_stock_seeds (
+    sku VARCHAR(100) PRIMARY KEY,
+    seeded_through BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE advice_batch_runs (
+    run_date DATE PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_sku VARCHAR(100),
+    processed INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    deadline_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE advice_batch_results (
+    sku VARCHAR(100) PRIMARY KEY,
+    run_date DATE NOT NULL,
+    advice TEXT NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE cache_regions (
+    region VARCHAR(100) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE cache_entries (
+    region VARCHAR(100) NOT NULL,
+    cache_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    region_version BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (region, cache_key)
+);
+
+CREATE INDEX idx_cache_expires ON cache_entries(expires_at);
+
 INSERT INTO product_data (sku, product_name, cogs, lead_time_days) VALUES
 ('SKU-001', 'Premium Wireless Headphones', 45.00, 14),
 ('SKU-002', 'Smart Watch Pro', 120.00, 21),
@@ -0,0 +1,133 @@
+package com.aiadviser.cache;
+
+import com.aiadviser.repository.CacheEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JdbcCacheStore against the embedded H2 schema. Tests run outside a transaction because H2's
+ * CURRENT_TIMESTAMP is fixed for the duration of one, which would hide expiry.
+ */
+@JdbcTest
+@Import(CacheEntryRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcCacheStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    record Advice(String decision, int days) {
+    }
+
+    @Autowired
+    private CacheEntryRepository cacheEntryRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("DELETE FROM cache_entries").update();
+        jdbcClient.sql("DELETE FROM cache_regions").update();
+        meterRegistry = new SimpleMeterRegistry();
+        store = new JdbcCacheStore(cacheEntryRepository, new ObjectMapper(), (job, task) -> {
+            task.run();
+            return true;
+        }, meterRegistry);
+    }
+
+    @Test
+    void putOnSameKeyReplacesTheEntry() {
+        store.put("advice", "SKU-001", new Advice("REORDER", 7), TTL);
+        store.put("advice", "SKU-001", new Advice("HOLD", 30), TTL);
+
+        assertThat(store.get("advice", "SKU-001", Advice.class)).contains(new Advice("HOLD", 30));
+        assertThat(rowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntryIsAMiss() throws InterruptedException {
+        store.put("advice", "SKU-001", new Advice("REORDER", 7), Duration.ofMillis(50));
+        Thread.sleep(150);
+
+        assertThat(store.get("advice", "SKU-001", Advice.class)).isEmpty();
+        assertThat(meterRegistry.get("cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatingARegionHidesOnlyItsOlderEntries() {
+        store.put("advice", "SKU-001", new Advice("REORDER", 7), TTL);
+        store.put("chat", "SKU-001", new Advice("HOLD", 30), TTL);
+
+        store.invalidateRegion("advice");
+        assertThat(store.get("advice", "SKU-001", Advice.class)).isEmpty();
+        assertThat(store.get("chat", "SKU-001", Advice.class)).contains(new Advice("HOLD", 30));
+
+        store.put("advice", "SKU-001", new Advice("REDUCE", 14), TTL);
+        assertThat(store.get("advice", "SKU-001", Advice.class)).contains(new Advice("REDUCE", 14));
+    }
+
+    @Test
+    void evictRemovesTheEntry() {
+        store.put("advice", "SKU-001", new Advice("REORDER", 7), TTL);
+        store.evict("advice", "SKU-001");
+
+        assertThat(store.get("advice", "SKU-001", Advice.class)).isEmpty();
+        assertThat(rowCount()).isZero();
+    }
+
+    @Test
+    void purgeDeletesExpiredAndSupersededRowsOnly() throws InterruptedException {
+        store.put("advice", "SKU-001", new Advice("REORDER", 7), TTL);
+        store.invalidateRegion("advice");
+        store.put("advice", "SKU-002", new Advice("HOLD", 30), TTL);
+        store.put("chat", "SKU-001", new Advice("REDUCE", 14), Duration.ofMillis(50));
+        store.put("chat", "SKU-002", new Advice("HOLD", 21), TTL);
+        Thread.sleep(150);
+
+        store.purge();
+
+        assertThat(jdbcClient.sql("SELECT region || '/' || cache_key FROM cache_entries ORDER BY region, cache_key")
+            .query(String.class)
+            .list())
+            .containsExactly("advice/SKU-002", "chat/SKU-002");
+    }
+
+    @Test
+    void databaseFailureDegradesToAMiss() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("database unavailable"));
+        JdbcCacheStore unavailable = new JdbcCacheStore(
+            new CacheEntryRepository(JdbcClient.create(broken)), new ObjectMapper(), (job, task) -> true, meterRegistry);
+
+        assertThat(unavailable.get("advice", "SKU-001", Advice.class)).isEmpty();
+        assertThatNoException().isThrownBy(() -> {
+            unavailable.put("advice", "SKU-001", new Advice("REORDER", 7), TTL);
+            unavailable.evict("advice", "SKU-001");
+            unavailable.invalidateRegion("advice");
+        });
+    }
+
+    private long rowCount() {
+        return jdbcClient.sql("SELECT COUNT(*) FROM cache_entries").query(Long.class).single();
+    }
+}